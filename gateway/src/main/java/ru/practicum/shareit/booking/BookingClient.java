@@ -12,6 +12,11 @@ import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -22,22 +27,32 @@ public class BookingClient extends BaseClient {
     @Autowired
     public BookingClient(
             @Value("${shareit-server.url}") String serverUrl,
-            RestTemplateBuilder builder
+            @Value("${shareit-server.passthrough:true}") boolean passthrough,
+            RestTemplateBuilder builder,
+            HttpComponentsClientHttpRequestFactory requestFactory,
+            RequestCoalescer coalescer
     ) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                passthrough,
+                null,
+                coalescer
         );
     }
 
     public ResponseEntity<Object> getBookings(
             long userId,
-            BookingState state
+            BookingState state,
+            String cursor,
+            Integer size,
+            boolean includeArchive
     ) {
-        log.info("Get bookings by user: {}, state: {}", userId, state);
-        return get("?state=" + state, userId);
+        log.info("Get bookings by user: {}, state: {}, cursor: {}, size: {}, includeArchive: {}", userId, state, cursor,
+                size, includeArchive);
+        return getPage("", userId, state, cursor, size, includeArchive);
     }
 
     public ResponseEntity<Object> bookItem(long userId, BookItemRequestDto requestDto) {
@@ -45,19 +60,59 @@ public class BookingClient extends BaseClient {
         return post("", userId, requestDto);
     }
 
+    public ResponseEntity<Object> bookItems(long userId, List<BookItemRequestDto> requestDtos) {
+        log.info("Booking {} items by user {}", requestDtos.size(), userId);
+        return post("/batch", userId, requestDtos);
+    }
+
     public ResponseEntity<Object> approve(Long bookingId, Long ownerId, boolean approved) {
         log.info("Approve booking by bookingId: {}, ownerId: {}", bookingId, ownerId);
         return patch("/" + bookingId + "?approved=" + approved, ownerId, null, null);
     }
 
+    public ResponseEntity<Object> approveAll(List<Long> bookingIds, Long ownerId, boolean approved) {
+        log.info("Approve bookings {} by ownerId: {}", bookingIds, ownerId);
+        return patch("/batch?approved=" + approved, ownerId, null, bookingIds);
+    }
+
     public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
         log.info("Get booking by user {} and bookingId: {}", userId, bookingId);
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getByOwnerAndState(Long ownerId, BookingState state) {
-        log.info("Get booking by owner and state: {}", state);
-        return get("/owner?state=" + state, ownerId);
+    public ResponseEntity<Object> getByOwnerAndState(
+            Long ownerId,
+            BookingState state,
+            String cursor,
+            Integer size,
+            boolean includeArchive
+    ) {
+        log.info("Get booking by owner and state: {}, cursor: {}, size: {}, includeArchive: {}", state, cursor, size,
+                includeArchive);
+        return getPage("/owner", ownerId, state, cursor, size, includeArchive);
+    }
+
+    private ResponseEntity<Object> getPage(
+            String path,
+            Long userId,
+            BookingState state,
+            String cursor,
+            Integer size,
+            boolean includeArchive
+    ) {
+        Map<String, Object> params = new HashMap<>(Map.of("state", state, "size", size));
+        path += "?state={state}&size={size}";
+
+        if (cursor != null) {
+            params.put("cursor", cursor);
+            path += "&cursor={cursor}";
+        }
+
+        if (includeArchive) {
+            path += "&includeArchive=true";
+        }
+
+        return get(path, userId, params);
     }
 
 }
@@ -13,10 +13,16 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
+import java.util.List;
+
 @Controller
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
@@ -24,17 +30,21 @@ import ru.practicum.shareit.booking.dto.BookingState;
 public class BookingController {
 
     private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+    private static final int MAX_BATCH_SIZE = 100;
 
     private final BookingClient bookingClient;
 
     @GetMapping
     public ResponseEntity<Object> getBookings(
             @RequestHeader(HEADER_USER_ID) long userId,
-            @RequestParam(name = "state", defaultValue = "all") String stateParam
+            @RequestParam(name = "state", defaultValue = "all") String stateParam,
+            @RequestParam(required = false) String cursor,
+            @Positive @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(defaultValue = "false") boolean includeArchive
     ) {
         BookingState state = getBookingState(stateParam);
 
-        return bookingClient.getBookings(userId, state);
+        return bookingClient.getBookings(userId, state, cursor, size, includeArchive);
     }
 
     @PostMapping
@@ -45,6 +55,14 @@ public class BookingController {
         return bookingClient.bookItem(userId, requestDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> bookItems(
+            @RequestHeader(HEADER_USER_ID) long userId,
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@Valid BookItemRequestDto> requestDtos
+    ) {
+        return bookingClient.bookItems(userId, requestDtos);
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseEntity<Object> approve(
             @PathVariable Long bookingId,
@@ -54,6 +72,15 @@ public class BookingController {
         return bookingClient.approve(bookingId, ownerId, approved);
     }
 
+    @PatchMapping("/batch")
+    public ResponseEntity<Object> approveAll(
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@NotNull Long> bookingIds,
+            @RequestParam boolean approved,
+            @RequestHeader(name = HEADER_USER_ID) Long ownerId
+    ) {
+        return bookingClient.approveAll(bookingIds, ownerId, approved);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> getBooking(
             @RequestHeader(HEADER_USER_ID) long userId,
@@ -64,12 +91,15 @@ public class BookingController {
 
     @GetMapping("/owner")
     public ResponseEntity<Object> getByOwnerAndState(
-            @RequestParam(required = false, defaultValue = "all") String stateParam,
+            @RequestParam(name = "state", defaultValue = "all") String stateParam,
+            @RequestParam(required = false) String cursor,
+            @Positive @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(defaultValue = "false") boolean includeArchive,
             @RequestHeader(name = HEADER_USER_ID) Long ownerId
     ) {
         BookingState state = getBookingState(stateParam);
 
-        return bookingClient.getByOwnerAndState(ownerId, state);
+        return bookingClient.getByOwnerAndState(ownerId, state, cursor, size, includeArchive);
     }
 
     private static BookingState getBookingState(String stateParam) {
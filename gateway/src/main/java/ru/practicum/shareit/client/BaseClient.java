@@ -1,23 +1,67 @@
 package ru.practicum.shareit.client;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 public class BaseClient {
 
+    private static final int STREAM_BUFFER_SIZE = 8192;
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            HttpHeaders.CONNECTION.toLowerCase(),
+            "keep-alive",
+            HttpHeaders.PROXY_AUTHENTICATE.toLowerCase(),
+            HttpHeaders.PROXY_AUTHORIZATION.toLowerCase(),
+            HttpHeaders.TE.toLowerCase(),
+            HttpHeaders.TRAILER.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.UPGRADE.toLowerCase(),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            HttpHeaders.DATE.toLowerCase()
+    );
+
     protected final RestTemplate rest;
+    private final boolean passthrough;
+    @Nullable
+    private final ResponseCache responseCache;
+    @Nullable
+    private final RequestCoalescer coalescer;
+    private final String cachePrefix;
+
+    public BaseClient(RestTemplate rest, boolean passthrough) {
+        this(rest, passthrough, null, null);
+    }
 
-    public BaseClient(RestTemplate rest) {
+    public BaseClient(
+            RestTemplate rest,
+            boolean passthrough,
+            @Nullable ResponseCache responseCache,
+            @Nullable RequestCoalescer coalescer
+    ) {
         this.rest = rest;
+        this.passthrough = passthrough;
+        this.responseCache = responseCache;
+        this.coalescer = coalescer;
+        this.cachePrefix = rest.getUriTemplateHandler().expand("").toString();
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -32,6 +76,57 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    /**
+     * GET through the response cache. The user header is part of the key,
+     * so pass userId only where the server's answer depends on it.
+     */
+    protected ResponseEntity<Object> getCached(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        if (!passthrough || responseCache == null) {
+            return get(path, userId, parameters);
+        }
+
+        URI uri = expand(path, parameters);
+        String key = requestKey(uri, userId);
+        CachedResponse cached = responseCache.get(key);
+
+        if (cached != null && responseCache.isFresh(cached)) {
+            return cached.toResponse();
+        }
+
+        return coalesce(key, () -> revalidate(uri, key, userId, cached));
+    }
+
+    private ResponseEntity<Object> revalidate(URI uri, String key, Long userId, @Nullable CachedResponse cached) {
+        long generation = responseCache.generation(cachePrefix);
+        HttpHeaders headers = defaultHeaders(userId);
+
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.etag());
+        }
+
+        try {
+            ResponseEntity<byte[]> response = rest.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+
+            if (cached != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                return responseCache.notModified(key, cached).toResponse();
+            }
+
+            HttpHeaders forwarded = forwardedHeaders(response.getHeaders());
+
+            if (response.getStatusCode().is2xxSuccessful()) {
+                responseCache.put(cachePrefix, key, generation, forwarded, response.getBody(), cached != null);
+            } else {
+                responseCache.evict(key);
+            }
+
+            return ResponseEntity.status(response.getStatusCode()).headers(forwarded).body(response.getBody());
+        } catch (HttpStatusCodeException e) {
+            responseCache.evict(key);
+
+            return errorResponse(e);
+        }
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -80,23 +175,139 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    protected ResponseEntity<StreamingResponseBody> stream(String path, Long userId, MediaType mediaType) {
+        ClientHttpResponse response;
+
+        try {
+            ClientHttpRequest request = rest.getRequestFactory()
+                                            .createRequest(rest.getUriTemplateHandler().expand(path), HttpMethod.GET);
+            request.getHeaders().setAccept(List.of(mediaType));
+
+            if (userId != null) {
+                request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+            }
+
+            response = request.execute();
+
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                try (response) {
+                    byte[] body = response.getBody().readAllBytes();
+
+                    return ResponseEntity.status(response.getStatusCode())
+                                         .contentType(MediaType.APPLICATION_JSON)
+                                         .body(out -> out.write(body));
+                }
+            }
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error on GET request for \"" + path + "\": " + e.getMessage(), e);
+        }
+
+        return ResponseEntity.ok()
+                             .contentType(mediaType)
+                             .body(out -> {
+                                 try (response; InputStream in = response.getBody()) {
+                                     byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+                                     int read;
+
+                                     while ((read = in.read(buffer)) != -1) {
+                                         out.write(buffer, 0, read);
+                                         out.flush();
+                                     }
+                                 }
+                             });
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(
             HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        URI uri = expand(path, parameters);
+
+        if (method == HttpMethod.GET) {
+            return coalesce(requestKey(uri, userId), () -> send(method, uri, userId, body));
+        }
+
+        return send(method, uri, userId, body);
+    }
+
+    private <T> ResponseEntity<Object> send(HttpMethod method, URI uri, Long userId, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
         ResponseEntity<Object> shareitServerResponse;
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+            if (passthrough) {
+                // The server already wrote JSON, so its bytes go back as they are instead of a parsed object tree
+                ResponseEntity<byte[]> response = rest.exchange(uri, method, requestEntity, byte[].class);
+                afterWrite(method, response.getStatusCode());
+
+                return ResponseEntity.status(response.getStatusCode())
+                                     .headers(forwardedHeaders(response.getHeaders()))
+                                     .body(response.getBody());
             }
+
+            shareitServerResponse = rest.exchange(uri, method, requestEntity, Object.class);
+            afterWrite(method, shareitServerResponse.getStatusCode());
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return errorResponse(e);
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    private void afterWrite(HttpMethod method, HttpStatusCode status) {
+        if (method == HttpMethod.GET || !status.is2xxSuccessful()) {
+            return;
+        }
+
+        // Writes made elsewhere reach cached responses on the next revalidation, at most fresh-for later
+        if (responseCache != null) {
+            responseCache.evictByPrefix(cachePrefix);
+        }
+
+        // A read in flight since before the write may answer with what the write replaced
+        if (coalescer != null) {
+            coalescer.forget(cachePrefix);
+        }
+    }
+
+    private static ResponseEntity<Object> errorResponse(HttpStatusCodeException e) {
+        return ResponseEntity.status(e.getStatusCode())
+                             .headers(forwardedHeaders(e.getResponseHeaders()))
+                             .body(e.getResponseBodyAsByteArray());
+    }
+
+    private ResponseEntity<Object> coalesce(String key, Supplier<ResponseEntity<Object>> call) {
+        if (coalescer == null) {
+            return call.get();
+        }
+
+        return coalescer.execute(cachePrefix, key, call);
+    }
+
+    private URI expand(String path, @Nullable Map<String, Object> parameters) {
+        if (parameters != null) {
+            return rest.getUriTemplateHandler().expand(path, parameters);
+        }
+
+        return rest.getUriTemplateHandler().expand(path);
+    }
+
+    // The user header is part of the key: the same path can answer differently for another user
+    private static String requestKey(URI uri, @Nullable Long userId) {
+        return userId != null ? uri + "#" + userId : uri.toString();
+    }
+
+    private static HttpHeaders forwardedHeaders(@Nullable HttpHeaders upstream) {
+        HttpHeaders headers = new HttpHeaders();
+
+        if (upstream != null) {
+            upstream.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase())) {
+                    headers.addAll(name, values);
+                }
+            });
+        }
+
+        return headers;
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+public record CachedResponse(HttpHeaders headers, byte[] body, String etag, long validatedAt) {
+
+    public CachedResponse validatedAt(long nanos) {
+        return new CachedResponse(headers, body, etag, nanos);
+    }
+
+    public ResponseEntity<Object> toResponse() {
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+}
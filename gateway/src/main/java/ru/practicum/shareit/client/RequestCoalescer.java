@@ -0,0 +1,104 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for idempotent calls to the server: while a call for a key is in flight,
+ * identical calls wait for it and get its result instead of sending their own.
+ * Calls are grouped by the resource prefix their keys belong to, so a write can {@link #forget(String)} them.
+ */
+@Component
+public class RequestCoalescer {
+
+    private final Map<String, Map<String, CompletableFuture<Object>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter upstream;
+    private final Counter collapsed;
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.upstream = calls(meterRegistry, "upstream");
+        this.collapsed = calls(meterRegistry, "collapsed");
+
+        Gauge.builder("gateway.request.coalescing.ratio", this, RequestCoalescer::collapseRatio)
+             .description("Share of coalesced calls that were answered by another call's response")
+             .register(meterRegistry);
+        Gauge.builder("gateway.request.coalescing.in.flight", this, RequestCoalescer::inFlightCount)
+             .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String prefix, String key, Supplier<T> call) {
+        Map<String, CompletableFuture<Object>> calls = inFlight.computeIfAbsent(prefix, p -> new ConcurrentHashMap<>());
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> leader = calls.putIfAbsent(key, own);
+
+        if (leader != null) {
+            collapsed.increment();
+
+            return (T) await(leader);
+        }
+
+        upstream.increment();
+
+        try {
+            T result = call.get();
+            own.complete(result);
+
+            return result;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, own);
+        }
+    }
+
+    /**
+     * Stops later calls under the prefix from joining the ones in flight, which may have been answered before a write.
+     * The calls themselves still complete for those already waiting on them.
+     */
+    public void forget(String prefix) {
+        inFlight.remove(prefix);
+    }
+
+    private int inFlightCount() {
+        return inFlight.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private double collapseRatio() {
+        double total = upstream.count() + collapsed.count();
+
+        return total == 0 ? 0 : collapsed.count() / total;
+    }
+
+    private static Object await(CompletableFuture<Object> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+
+            throw e;
+        }
+    }
+
+    private static Counter calls(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.request.coalescing.calls")
+                      .tag("result", result)
+                      .register(meterRegistry);
+    }
+
+}
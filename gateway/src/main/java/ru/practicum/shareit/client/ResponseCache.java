@@ -0,0 +1,163 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server responses to idempotent GETs, kept with their ETag.
+ * An entry is served as is while fresh, afterwards it is revalidated with If-None-Match.
+ */
+@Component
+public class ResponseCache {
+
+    public static final String NAME = "gateway-responses";
+
+    private final Cache<String, Entry> cache;
+    private final Map<String, Set<String>> keysByPrefix = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> evictions = new ConcurrentHashMap<>();
+    private final long freshForNanos;
+    private final Counter notModified;
+    private final Counter modified;
+
+    public ResponseCache(
+            @Value("${shareit-server.response-cache.maximum-size:10000}") long maximumSize,
+            @Value("${shareit-server.response-cache.ttl:10m}") Duration ttl,
+            @Value("${shareit-server.response-cache.fresh-for:1s}") Duration freshFor,
+            MeterRegistry meterRegistry
+    ) {
+        this.cache = Caffeine.newBuilder()
+                             .maximumSize(maximumSize)
+                             .expireAfterWrite(ttl)
+                             .recordStats()
+                             .executor(Runnable::run)
+                             .removalListener((String key, Entry entry, RemovalCause cause) -> unregister(key, entry))
+                             .build();
+        this.freshForNanos = freshFor.toNanos();
+        this.notModified = revalidations(meterRegistry, "not_modified");
+        this.modified = revalidations(meterRegistry, "modified");
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+    }
+
+    @Nullable
+    public CachedResponse get(String key) {
+        Entry entry = cache.getIfPresent(key);
+
+        return entry == null ? null : entry.response();
+    }
+
+    public boolean isFresh(CachedResponse response) {
+        return System.nanoTime() - response.validatedAt() < freshForNanos;
+    }
+
+    /**
+     * Counts evictions of the prefix. Read it before asking the server and pass it to {@link #put}.
+     */
+    public long generation(String prefix) {
+        return evictions.computeIfAbsent(prefix, p -> new AtomicLong()).get();
+    }
+
+    /**
+     * Caches the response under the key, which {@link #evictByPrefix(String)} with the given prefix drops.
+     */
+    public void put(
+            String prefix,
+            String key,
+            long generation,
+            HttpHeaders headers,
+            @Nullable byte[] body,
+            boolean revalidation
+    ) {
+        if (revalidation) {
+            modified.increment();
+        }
+
+        String etag = headers.getETag();
+
+        if (etag == null || body == null) {
+            cache.invalidate(key);
+            return;
+        }
+
+        CachedResponse response = new CachedResponse(HttpHeaders.readOnlyHttpHeaders(headers), body, etag, System.nanoTime());
+
+        Entry entry = new Entry(prefix, response);
+
+        cache.put(key, entry);
+        register(prefix, key);
+
+        // A write that finished while the server was answering may have evicted before the put, so it is dropped here
+        if (generation(prefix) != generation) {
+            cache.asMap().remove(key, entry);
+        }
+    }
+
+    public CachedResponse notModified(String key, CachedResponse response) {
+        notModified.increment();
+
+        CachedResponse revalidated = response.validatedAt(System.nanoTime());
+        // A write may have evicted the entry while it was being revalidated, and then it stays evicted
+        cache.asMap().computeIfPresent(key, (k, entry) -> new Entry(entry.prefix(), revalidated));
+
+        return revalidated;
+    }
+
+    public void evict(String key) {
+        cache.invalidate(key);
+    }
+
+    public void evictByPrefix(String prefix) {
+        evictions.computeIfAbsent(prefix, p -> new AtomicLong()).incrementAndGet();
+
+        Set<String> keys = keysByPrefix.get(prefix);
+
+        if (keys != null) {
+            cache.invalidateAll(Set.copyOf(keys));
+        }
+    }
+
+    private void register(String prefix, String key) {
+        keysByPrefix.compute(prefix, (p, keys) -> {
+            Set<String> registered = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+            registered.add(key);
+
+            return registered;
+        });
+    }
+
+    private void unregister(String key, Entry entry) {
+        keysByPrefix.computeIfPresent(entry.prefix(), (p, keys) -> {
+            // The same key may have been cached again after this removal
+            if (!cache.asMap().containsKey(key)) {
+                keys.remove(key);
+            }
+
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private static Counter revalidations(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.response.cache.revalidations")
+                      .tag("cache", NAME)
+                      .tag("result", result)
+                      .register(meterRegistry);
+    }
+
+    private record Entry(String prefix, CachedResponse response) {
+    }
+
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class HttpClientConfig {
+
+    public static final String POOL_NAME = "shareit-server";
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager shareitServerConnectionManager(
+            @Value("${shareit-server.http.max-total:200}") int maxTotal,
+            @Value("${shareit-server.http.max-per-route:200}") int maxPerRoute,
+            @Value("${shareit-server.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${shareit-server.http.read-timeout:30s}") Duration readTimeout,
+            @Value("${shareit-server.http.validate-after-inactivity:2s}") Duration validateAfterInactivity,
+            MeterRegistry meterRegistry
+    ) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(
+                        ConnectionConfig.custom()
+                                .setConnectTimeout(Timeout.of(connectTimeout))
+                                .setSocketTimeout(Timeout.of(readTimeout))
+                                .setValidateAfterInactivity(TimeValue.of(validateAfterInactivity))
+                                .build()
+                )
+                .build();
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME).bindTo(meterRegistry);
+
+        return connectionManager;
+    }
+
+    @Bean
+    public HttpComponentsClientHttpRequestFactory shareitServerRequestFactory(
+            PoolingHttpClientConnectionManager connectionManager,
+            @Value("${shareit-server.http.lease-timeout:5s}") Duration leaseTimeout,
+            @Value("${shareit-server.http.keep-alive:15s}") Duration keepAlive,
+            @Value("${shareit-server.http.idle-timeout:30s}") Duration idleTimeout
+    ) {
+        // Every client talks to the same server, so they share one pool instead of five connections each
+        return new HttpComponentsClientHttpRequestFactory(
+                HttpClients.custom()
+                        .setConnectionManager(connectionManager)
+                        .setDefaultRequestConfig(
+                                RequestConfig.custom()
+                                        .setConnectionRequestTimeout(Timeout.of(leaseTimeout))
+                                        .setDefaultKeepAlive(keepAlive.toMillis(), TimeUnit.MILLISECONDS)
+                                        .build()
+                        )
+                        .evictExpiredConnections()
+                        .evictIdleConnections(TimeValue.of(idleTimeout))
+                        .build()
+        );
+    }
+
+}
@@ -4,15 +4,21 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 @Slf4j
@@ -24,13 +30,20 @@ public class ItemClient extends BaseClient {
     @Autowired
     public ItemClient(
             @Value("${shareit-server.url}") String serverUrl,
-            RestTemplateBuilder builder
+            @Value("${shareit-server.passthrough:true}") boolean passthrough,
+            RestTemplateBuilder builder,
+            HttpComponentsClientHttpRequestFactory requestFactory,
+            ResponseCache responseCache,
+            RequestCoalescer coalescer
     ) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                passthrough,
+                responseCache,
+                coalescer
         );
     }
 
@@ -46,17 +59,52 @@ public class ItemClient extends BaseClient {
 
     public ResponseEntity<Object> findItemById(Long itemId, Long userId) {
         log.info("Find item {} and user {}", itemId, userId);
-        return get("/" + itemId, userId);
+        return getCached("/" + itemId, userId, null);
     }
 
-    public ResponseEntity<Object> findItemsByOwner(Long ownerId) {
-        log.info("Find items by owner {}", ownerId);
-        return get("/owner", ownerId);
+    public ResponseEntity<Object> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        log.info("Get availability of item {} from {} to {}", itemId, from, to);
+        return get(
+                "/" + itemId + "/availability?from={from}&to={to}",
+                null,
+                Map.of("from", from.toString(), "to", to.toString())
+        );
+    }
+
+    public ResponseEntity<Object> findItemsByOwner(Long ownerId, String cursor, Integer from, Integer size) {
+        log.info("Find items by owner {}, cursor {}, from {}, size {}", ownerId, cursor, from, size);
+        Map<String, Object> params = new HashMap<>(Map.of("from", from, "size", size));
+        String path = "?from={from}&size={size}";
+
+        if (cursor != null) {
+            params.put("cursor", cursor);
+            path += "&cursor={cursor}";
+        }
+
+        return get(path, ownerId, params);
+    }
+
+    public ResponseEntity<StreamingResponseBody> streamItemsByOwner(Long ownerId) {
+        log.info("Stream items by owner {}", ownerId);
+        return stream("", ownerId, MediaType.APPLICATION_NDJSON);
+    }
+
+    public ResponseEntity<Object> findItemsByText(String text, String cursor, Integer from, Integer size) {
+        log.info("Find items by text {}, cursor {}, from {}, size {}", text, cursor, from, size);
+        Map<String, Object> params = new HashMap<>(Map.of("text", text, "from", from, "size", size));
+        String path = "/search?text={text}&from={from}&size={size}";
+
+        if (cursor != null) {
+            params.put("cursor", cursor);
+            path += "&cursor={cursor}";
+        }
+
+        return getCached(path, null, params);
     }
 
-    public ResponseEntity<Object> findItemsByText(String text) {
-        Map<String, Object> params = Map.of("text", text);
-        return get("/search", null, params);
+    public ResponseEntity<Object> suggestItemNames(String prefix, Integer size) {
+        log.info("Suggest item names by prefix {}, size {}", prefix, size);
+        return get("/suggest?prefix={prefix}&size={size}", null, Map.of("prefix", prefix, "size", size));
     }
 
     public ResponseEntity<Object> addComment(Long itemId, Long authorId, CommentCreateDto commentDto) {
@@ -1,7 +1,11 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -13,10 +17,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 
+import java.time.LocalDateTime;
+
 @Controller
 @RequestMapping(path = "/items")
 @RequiredArgsConstructor
@@ -52,14 +59,46 @@ public class ItemController {
         return itemClient.findItemById(itemId, userId);
     }
 
-    @GetMapping
-    public ResponseEntity<Object> getItemsByOwner(@RequestHeader(name = HEADER_USER_ID) Long ownerId) {
-        return itemClient.findItemsByOwner(ownerId);
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(
+            @PathVariable Long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        return itemClient.getAvailability(itemId, from, to);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> getItemsByOwner(
+            @RequestHeader(name = HEADER_USER_ID) Long ownerId,
+            @RequestParam(required = false) String cursor,
+            @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+            @Positive @RequestParam(defaultValue = "20") Integer size
+    ) {
+        return itemClient.findItemsByOwner(ownerId, cursor, from, size);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamItemsByOwner(@RequestHeader(name = HEADER_USER_ID) Long ownerId) {
+        return itemClient.streamItemsByOwner(ownerId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> findItemsByText(@RequestParam String text) {
-        return itemClient.findItemsByText(text);
+    public ResponseEntity<Object> findItemsByText(
+            @RequestParam String text,
+            @RequestParam(required = false) String cursor,
+            @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+            @Positive @RequestParam(defaultValue = "20") Integer size
+    ) {
+        return itemClient.findItemsByText(text, cursor, from, size);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<Object> suggestItemNames(
+            @RequestParam String prefix,
+            @Positive @RequestParam(defaultValue = "10") Integer size
+    ) {
+        return itemClient.suggestItemNames(prefix, size);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -9,6 +9,8 @@ import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 
 @Slf4j
@@ -20,13 +22,20 @@ public class ItemRequestClient extends BaseClient {
     @Autowired
     public ItemRequestClient(
             @Value("${shareit-server.url}") String serverUrl,
-            RestTemplateBuilder builder
+            @Value("${shareit-server.passthrough:true}") boolean passthrough,
+            RestTemplateBuilder builder,
+            HttpComponentsClientHttpRequestFactory requestFactory,
+            ResponseCache responseCache,
+            RequestCoalescer coalescer
     ) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                passthrough,
+                responseCache,
+                coalescer
         );
     }
 
@@ -47,7 +56,7 @@ public class ItemRequestClient extends BaseClient {
 
     public ResponseEntity<Object> getById(Long requestId) {
         log.info("Get itemRequest for requestId={}", requestId);
-        return get("/" + requestId);
+        return getCached("/" + requestId, null, null);
     }
 
 }
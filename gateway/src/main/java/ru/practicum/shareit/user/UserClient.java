@@ -9,6 +9,8 @@ import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
@@ -21,13 +23,20 @@ public class UserClient extends BaseClient {
     @Autowired
     public UserClient(
             @Value("${shareit-server.url}") String serverUrl,
-            RestTemplateBuilder builder
+            @Value("${shareit-server.passthrough:true}") boolean passthrough,
+            RestTemplateBuilder builder,
+            HttpComponentsClientHttpRequestFactory requestFactory,
+            ResponseCache responseCache,
+            RequestCoalescer coalescer
     ) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                passthrough,
+                responseCache,
+                coalescer
         );
     }
 
@@ -48,7 +57,7 @@ public class UserClient extends BaseClient {
 
     public ResponseEntity<Object> findById(Long userId) {
         log.info("Find request for user={}", userId);
-        return get("/" + userId);
+        return getCached("/" + userId, null, null);
     }
 
 }
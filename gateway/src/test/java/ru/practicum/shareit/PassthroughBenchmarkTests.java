@@ -0,0 +1,133 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.client.RequestCoalescer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.StringJoiner;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * CPU time and allocation of the request thread for a 100-booking page,
+ * with the server's JSON parsed into Object and with its bytes forwarded as they are.
+ */
+@Slf4j
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+class PassthroughBenchmarkTests {
+
+    private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+    private static final int BOOKINGS_COUNT = 100;
+    private static final int WARMUP = 1_000;
+    private static final int ITERATIONS = 2_000;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private HttpServer upstream;
+
+    @BeforeAll
+    void startUpstream() throws IOException {
+        byte[] page = bookingsPage().getBytes(StandardCharsets.UTF_8);
+
+        // Without it delayed ACKs hold every response for 40 ms and the run takes minutes
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        upstream.createContext("/bookings", exchange -> {
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+            exchange.sendResponseHeaders(200, page.length);
+
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(page);
+            }
+        });
+        upstream.start();
+    }
+
+    @AfterAll
+    void stopUpstream() {
+        upstream.stop(0);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void measureCpuAndAllocationPerRequest(boolean passthrough) throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new BookingController(bookingClient(passthrough))).build();
+
+        for (int i = 0; i < WARMUP; i++) {
+            perform(mockMvc);
+        }
+
+        long allocated = threads.getCurrentThreadAllocatedBytes();
+        long cpu = threads.getCurrentThreadCpuTime();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            perform(mockMvc);
+        }
+
+        cpu = threads.getCurrentThreadCpuTime() - cpu;
+        allocated = threads.getCurrentThreadAllocatedBytes() - allocated;
+
+        log.info(
+                "GET /bookings?size={}, passthrough={}: {} us CPU/op, {} KB allocated/op",
+                BOOKINGS_COUNT,
+                passthrough,
+                cpu / ITERATIONS / 1_000,
+                allocated / ITERATIONS / 1024
+        );
+    }
+
+    private BookingClient bookingClient(boolean passthrough) {
+        return new BookingClient(
+                "http://localhost:" + upstream.getAddress().getPort(),
+                passthrough,
+                new RestTemplateBuilder(),
+                new HttpComponentsClientHttpRequestFactory(),
+                new RequestCoalescer(new SimpleMeterRegistry())
+        );
+    }
+
+    private static void perform(MockMvc mockMvc) throws Exception {
+        mockMvc.perform(get("/bookings").param("size", String.valueOf(BOOKINGS_COUNT)).header(HEADER_USER_ID, 1))
+               .andExpect(status().isOk());
+    }
+
+    private static String bookingsPage() {
+        StringJoiner page = new StringJoiner(",", "[", "]");
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+        for (int i = 1; i <= BOOKINGS_COUNT; i++) {
+            page.add("""
+                    {"id":%d,"item":{"id":%d,"name":"Item %d"},"booker":{"id":1,"name":"Booker"},\
+                    "start":"%s","end":"%s","status":"APPROVED"}""".formatted(
+                    i, i, i, start.plusDays(i), start.plusDays(i + 1)
+            ));
+        }
+
+        return page.toString();
+    }
+
+}
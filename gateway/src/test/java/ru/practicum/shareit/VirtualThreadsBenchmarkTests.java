@@ -0,0 +1,184 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpServer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The gateway in front of a slow server, on Tomcat's platform pool and on virtual threads.
+ * Every request waits for the server, and with more requests than pooled connections they also
+ * wait for a connection lease. A lease wait that pins the carrier (httpcore5 before 5.3) shows up
+ * as pinned events in org.apache.hc, and on few carriers as requests that never complete:
+ * run with -Dhttpcore5.version=5.2.5 -Dhttpclient5.version=5.3.1 to see it.
+ */
+@Slf4j
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+class VirtualThreadsBenchmarkTests {
+
+    private static final int REQUESTS_COUNT = 2_000;
+    private static final Duration UPSTREAM_DELAY = Duration.ofMillis(100);
+    private static final Duration COMPLETION_TIMEOUT = Duration.ofMinutes(2);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    private HttpServer upstream;
+    private ExecutorService upstreamExecutor;
+
+    @BeforeAll
+    void startUpstream() throws IOException {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        upstreamExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), REQUESTS_COUNT);
+        upstream.setExecutor(upstreamExecutor);
+        upstream.createContext("/users", exchange -> {
+            byte[] body = "{\"id\":1,\"name\":\"User\",\"email\":\"user@mail.net\"}".getBytes(StandardCharsets.UTF_8);
+
+            try {
+                Thread.sleep(UPSTREAM_DELAY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+            exchange.sendResponseHeaders(200, body.length);
+
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        upstream.start();
+    }
+
+    @AfterAll
+    void stopUpstream() {
+        upstream.stop(0);
+        upstreamExecutor.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void measureSlowUpstream(boolean virtual) {
+        AtomicInteger pinnedInHttpClient = new AtomicInteger();
+
+        // Closing the client would wait for the requests a deadlocked gateway never answers
+        HttpClient httpClient = HttpClient.newBuilder()
+                                          .version(HttpClient.Version.HTTP_1_1)
+                                          .executor(Executors.newVirtualThreadPerTaskExecutor())
+                                          .build();
+
+        try (ConfigurableApplicationContext gateway = startGateway(virtual);
+             RecordingStream pinned = new RecordingStream()) {
+            pinned.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            pinned.onEvent(PINNED_EVENT, event -> {
+                if (inHttpClient(event)) {
+                    pinnedInHttpClient.incrementAndGet();
+                }
+            });
+            pinned.startAsync();
+
+            int port = ((WebServerApplicationContext) gateway).getWebServer().getPort();
+            List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(REQUESTS_COUNT);
+
+            threads.resetPeakThreadCount();
+            long start = System.nanoTime();
+
+            // Distinct ids, so that request coalescing does not answer them with one upstream call
+            for (int i = 1; i <= REQUESTS_COUNT; i++) {
+                responses.add(httpClient.sendAsync(
+                        HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/" + i))
+                                   .timeout(COMPLETION_TIMEOUT)
+                                   .build(),
+                        HttpResponse.BodyHandlers.discarding()
+                ));
+            }
+
+            CompletableFuture<Void> completed = CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new));
+
+            Assertions.assertDoesNotThrow(
+                    () -> completed.get(COMPLETION_TIMEOUT.toSeconds(), TimeUnit.SECONDS),
+                    "Requests did not complete, the gateway is deadlocked"
+            );
+
+            long wall = System.nanoTime() - start;
+            pinned.stop();
+
+            log.info(
+                    "{} requests, upstream delay {} ms, virtual threads={}: {} ms wall, {} peak platform threads, "
+                            + "{} pinned in org.apache.hc",
+                    REQUESTS_COUNT,
+                    UPSTREAM_DELAY.toMillis(),
+                    virtual,
+                    wall / 1_000_000,
+                    threads.getPeakThreadCount(),
+                    pinnedInHttpClient.get()
+            );
+
+            Assertions.assertTrue(responses.stream().allMatch(response -> response.join().statusCode() == 200));
+            Assertions.assertEquals(0, pinnedInHttpClient.get());
+        } finally {
+            httpClient.shutdownNow();
+        }
+    }
+
+    private ConfigurableApplicationContext startGateway(boolean virtual) {
+        return new SpringApplicationBuilder(ShareItGateway.class).run(
+                "--server.port=0",
+                "--shareit-server.url=http://localhost:" + upstream.getAddress().getPort(),
+                "--spring.threads.virtual.enabled=" + virtual,
+                // Virtual threads queue all requests for a lease at once; measure throughput, not the lease timeout
+                "--shareit-server.http.lease-timeout=" + COMPLETION_TIMEOUT.toSeconds() + "s",
+                "--logging.level.org.springframework.web.client.RestTemplate=INFO",
+                "--logging.level.ru.practicum.shareit.user=WARN"
+        );
+    }
+
+    private static boolean inHttpClient(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return false;
+        }
+
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            if (frame.getMethod().getType().getName().startsWith("org.apache.hc.")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BaseClientTests {
+
+    private static final String SERVER_URL = "http://shareit-server";
+    private static final String PAGE = "[{\"id\":1,\"status\":\"WAITING\"}]";
+    private static final String ERROR = "{\"error\":\"Booking with id='1' not found\"}";
+
+    @Test
+    void passthroughForwardsBodyAndEndToEndHeadersOnly() {
+        BookingClient client = bookingClient(true);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(client.rest).build();
+        HttpHeaders upstream = new HttpHeaders();
+        upstream.set(HttpHeaders.CONNECTION, "keep-alive");
+        upstream.set("Keep-Alive", "timeout=20");
+        upstream.set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        upstream.set(HttpHeaders.DATE, "Mon, 19 Oct 2026 00:00:00 GMT");
+        upstream.set(HttpHeaders.CONTENT_LENGTH, String.valueOf(PAGE.length()));
+        upstream.set("X-Next-Cursor", "abc");
+
+        server.expect(requestTo(SERVER_URL + "/bookings?state=ALL&size=20"))
+              .andExpect(method(HttpMethod.GET))
+              .andExpect(header("X-Sharer-User-Id", "1"))
+              .andRespond(withSuccess(PAGE, MediaType.APPLICATION_JSON).headers(upstream));
+
+        ResponseEntity<Object> response = client.getBookings(1L, BookingState.ALL, null, 20, false);
+
+        server.verify();
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertArrayEquals(PAGE.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        Assertions.assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        Assertions.assertEquals("abc", response.getHeaders().getFirst("X-Next-Cursor"));
+
+        for (String hopByHop : new String[]{
+                HttpHeaders.CONNECTION,
+                "Keep-Alive",
+                HttpHeaders.TRANSFER_ENCODING,
+                HttpHeaders.DATE,
+                HttpHeaders.CONTENT_LENGTH
+        }) {
+            Assertions.assertFalse(response.getHeaders().containsKey(hopByHop), hopByHop);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void errorResponsePassesThroughAsIs(boolean passthrough) {
+        BookingClient client = bookingClient(passthrough);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(client.rest).build();
+        HttpHeaders upstream = new HttpHeaders();
+        upstream.set(HttpHeaders.CONNECTION, "close");
+
+        server.expect(requestTo(SERVER_URL + "/bookings/1"))
+              .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                      .contentType(MediaType.APPLICATION_JSON)
+                      .headers(upstream)
+                      .body(ERROR));
+
+        ResponseEntity<Object> response = client.getBooking(1L, 1L);
+
+        server.verify();
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        Assertions.assertArrayEquals(ERROR.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        Assertions.assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        Assertions.assertFalse(response.getHeaders().containsKey(HttpHeaders.CONNECTION));
+    }
+
+    private static BookingClient bookingClient(boolean passthrough) {
+        return new BookingClient(
+                SERVER_URL,
+                passthrough,
+                new RestTemplateBuilder(),
+                new HttpComponentsClientHttpRequestFactory(),
+                new RequestCoalescer(new SimpleMeterRegistry())
+        );
+    }
+
+}
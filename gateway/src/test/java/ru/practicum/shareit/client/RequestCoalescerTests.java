@@ -0,0 +1,180 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Timeout(10)
+class RequestCoalescerTests {
+
+    private static final int CALLERS = 8;
+    private static final String PREFIX = "http://shareit-server/items";
+    private static final String KEY = PREFIX + "/1#1";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestCoalescer coalescer = new RequestCoalescer(meterRegistry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallsShareOneUpstreamCall() throws Exception {
+        Object response = new Object();
+        List<Future<Object>> results = submit(KEY, CALLERS, blockedCall(() -> response));
+
+        awaitCollapsed(CALLERS - 1);
+        Assertions.assertEquals(1, gauge("gateway.request.coalescing.in.flight"));
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            Assertions.assertSame(response, result.get(5, TimeUnit.SECONDS));
+        }
+
+        Assertions.assertEquals(1, upstreamCalls.get());
+        Assertions.assertEquals(1, calls("upstream"));
+        Assertions.assertEquals(CALLERS - 1, calls("collapsed"));
+        Assertions.assertEquals((double) (CALLERS - 1) / CALLERS, gauge("gateway.request.coalescing.ratio"));
+        Assertions.assertEquals(0, gauge("gateway.request.coalescing.in.flight"));
+    }
+
+    @Test
+    void failureReachesEveryWaitingCaller() throws Exception {
+        IllegalStateException failure = new IllegalStateException("Server is unavailable");
+        List<Future<Object>> results = submit(KEY, CALLERS, blockedCall(() -> {
+            throw failure;
+        }));
+
+        awaitCollapsed(CALLERS - 1);
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            ExecutionException e = Assertions.assertThrows(
+                    ExecutionException.class,
+                    () -> result.get(5, TimeUnit.SECONDS)
+            );
+            Assertions.assertSame(failure, e.getCause());
+        }
+
+        Assertions.assertEquals(1, upstreamCalls.get());
+        Assertions.assertEquals(0, gauge("gateway.request.coalescing.in.flight"));
+    }
+
+    @Test
+    void completedCallIsNotReused() {
+        AtomicInteger calls = new AtomicInteger();
+
+        Assertions.assertEquals(1, coalescer.execute(PREFIX, KEY, calls::incrementAndGet));
+        Assertions.assertEquals(2, coalescer.execute(PREFIX, KEY, calls::incrementAndGet));
+        Assertions.assertThrows(IllegalStateException.class, () -> coalescer.execute(PREFIX, KEY, () -> {
+            throw new IllegalStateException();
+        }));
+        Assertions.assertEquals(3, coalescer.execute(PREFIX, KEY, calls::incrementAndGet));
+
+        Assertions.assertEquals(4, calls("upstream"));
+        Assertions.assertEquals(0, calls("collapsed"));
+        Assertions.assertEquals(0, gauge("gateway.request.coalescing.ratio"));
+    }
+
+    @Test
+    void callsOfDifferentUsersAreNotCoalesced() throws Exception {
+        List<Future<Object>> first = submit("http://shareit-server/items/1#1", 1, blockedCall(Object::new));
+        List<Future<Object>> second = submit("http://shareit-server/items/1#2", 1, blockedCall(Object::new));
+
+        while (gauge("gateway.request.coalescing.in.flight") < 2) {
+            Thread.onSpinWait();
+        }
+
+        release.countDown();
+
+        Assertions.assertNotSame(
+                first.getFirst().get(5, TimeUnit.SECONDS),
+                second.getFirst().get(5, TimeUnit.SECONDS)
+        );
+        Assertions.assertEquals(2, upstreamCalls.get());
+        Assertions.assertEquals(0, calls("collapsed"));
+    }
+
+    @Test
+    void callInFlightBeforeWriteIsNotJoinedAfterIt() throws Exception {
+        List<Future<Object>> beforeWrite = submit(KEY, 1, blockedCall(Object::new));
+
+        while (upstreamCalls.get() < 1) {
+            Thread.onSpinWait();
+        }
+
+        coalescer.forget(PREFIX);
+        List<Future<Object>> afterWrite = submit(KEY, 1, blockedCall(Object::new));
+
+        while (upstreamCalls.get() < 2) {
+            Thread.onSpinWait();
+        }
+
+        release.countDown();
+
+        Assertions.assertNotSame(
+                beforeWrite.getFirst().get(5, TimeUnit.SECONDS),
+                afterWrite.getFirst().get(5, TimeUnit.SECONDS)
+        );
+        Assertions.assertEquals(0, calls("collapsed"));
+        Assertions.assertEquals(0, gauge("gateway.request.coalescing.in.flight"));
+    }
+
+    private Supplier<Object> blockedCall(Supplier<Object> response) {
+        return () -> {
+            upstreamCalls.incrementAndGet();
+
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            return response.get();
+        };
+    }
+
+    private List<Future<Object>> submit(String key, int callers, Supplier<Object> call) {
+        List<Future<Object>> results = new ArrayList<>(callers);
+
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> coalescer.execute(PREFIX, key, call)));
+        }
+
+        return results;
+    }
+
+    // A follower is counted before it starts waiting, so once all are counted the leader may finish
+    private void awaitCollapsed(int followers) {
+        while (calls("collapsed") < followers) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private double calls(String result) {
+        return meterRegistry.get("gateway.request.coalescing.calls").tag("result", result).counter().count();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+}
@@ -0,0 +1,263 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.ResponseCreator;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.request.ItemRequestClient;
+import ru.practicum.shareit.user.UserClient;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ResponseCacheTests {
+
+    private static final String SERVER_URL = "http://shareit-server";
+    private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+    private static final Duration ALWAYS_FRESH = Duration.ofHours(1);
+    private static final Duration NEVER_FRESH = Duration.ZERO;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestCoalescer coalescer = new RequestCoalescer(meterRegistry);
+
+    @Test
+    void freshResponseIsServedWithoutAskingServer() {
+        ResponseCache cache = responseCache(ALWAYS_FRESH);
+        ItemClient client = itemClient(cache);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(client.rest).build();
+
+        server.expect(once(), requestTo(SERVER_URL + "/items/1"))
+              .andExpect(header(HEADER_USER_ID, "1"))
+              .andRespond(json("{\"id\":1}", "\"v1\""));
+
+        ResponseEntity<Object> first = client.findItemById(1L, 1L);
+        ResponseEntity<Object> second = client.findItemById(1L, 1L);
+
+        server.verify();
+        assertBody("{\"id\":1}", first);
+        assertBody("{\"id\":1}", second);
+        Assertions.assertEquals("\"v1\"", second.getHeaders().getETag());
+    }
+
+    @Test
+    void staleResponseIsRevalidatedByEtag() {
+        ResponseCache cache = responseCache(NEVER_FRESH);
+        UserClient client = userClient(cache);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(client.rest).build();
+
+        server.expect(requestTo(SERVER_URL + "/users/1"))
+              .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+              .andRespond(json("{\"name\":\"old\"}", "\"v1\""));
+        server.expect(requestTo(SERVER_URL + "/users/1"))
+              .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+              .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+        server.expect(requestTo(SERVER_URL + "/users/1"))
+              .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+              .andRespond(json("{\"name\":\"new\"}", "\"v2\""));
+
+        ResponseEntity<Object> fetched = client.findById(1L);
+        ResponseEntity<Object> notModified = client.findById(1L);
+        ResponseEntity<Object> modified = client.findById(1L);
+
+        server.verify();
+        assertBody("{\"name\":\"old\"}", fetched);
+        Assertions.assertEquals(HttpStatus.OK, notModified.getStatusCode());
+        assertBody("{\"name\":\"old\"}", notModified);
+        assertBody("{\"name\":\"new\"}", modified);
+        Assertions.assertEquals("\"v2\"", cache.get(SERVER_URL + "/users/1").etag());
+        Assertions.assertEquals(1, revalidations("not_modified"));
+        Assertions.assertEquals(1, revalidations("modified"));
+    }
+
+    @Test
+    void userHeaderIsPartOfKeyOnlyForItemById() {
+        ResponseCache cache = responseCache(ALWAYS_FRESH);
+        ItemClient itemClient = itemClient(cache);
+        ItemRequestClient requestClient = itemRequestClient(cache);
+        MockRestServiceServer items = MockRestServiceServer.bindTo(itemClient.rest).build();
+        MockRestServiceServer requests = MockRestServiceServer.bindTo(requestClient.rest).build();
+
+        // The owner sees bookings of the item that another user does not, so their answers are cached apart
+        items.expect(once(), requestTo(SERVER_URL + "/items/1"))
+             .andExpect(header(HEADER_USER_ID, "1"))
+             .andRespond(json("{\"lastBooking\":{\"id\":1}}", "\"owner\""));
+        items.expect(once(), requestTo(SERVER_URL + "/items/1"))
+             .andExpect(header(HEADER_USER_ID, "2"))
+             .andRespond(json("{\"lastBooking\":null}", "\"other\""));
+        requests.expect(once(), requestTo(SERVER_URL + "/requests/1"))
+                .andExpect(headerDoesNotExist(HEADER_USER_ID))
+                .andRespond(json("{\"id\":1}", "\"v1\""));
+
+        assertBody("{\"lastBooking\":{\"id\":1}}", itemClient.findItemById(1L, 1L));
+        assertBody("{\"lastBooking\":null}", itemClient.findItemById(1L, 2L));
+        assertBody("{\"lastBooking\":{\"id\":1}}", itemClient.findItemById(1L, 1L));
+        assertBody("{\"lastBooking\":null}", itemClient.findItemById(1L, 2L));
+        assertBody("{\"id\":1}", requestClient.getById(1L));
+        assertBody("{\"id\":1}", requestClient.getById(1L));
+
+        items.verify();
+        requests.verify();
+        Assertions.assertNotNull(cache.get(SERVER_URL + "/items/1#1"));
+        Assertions.assertNotNull(cache.get(SERVER_URL + "/items/1#2"));
+        Assertions.assertNotNull(cache.get(SERVER_URL + "/requests/1"));
+    }
+
+    @Test
+    void errorResponseEvictsCachedEntry() {
+        ResponseCache cache = responseCache(NEVER_FRESH);
+        UserClient client = userClient(cache);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(client.rest).build();
+
+        server.expect(requestTo(SERVER_URL + "/users/1"))
+              .andRespond(json("{\"id\":1}", "\"v1\""));
+        server.expect(requestTo(SERVER_URL + "/users/1"))
+              .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+              .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                      .contentType(MediaType.APPLICATION_JSON)
+                      .body("{\"error\":\"User with id='1' not found\"}"));
+        server.expect(requestTo(SERVER_URL + "/users/1"))
+              .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+              .andRespond(json("{\"id\":1}", "\"v2\""));
+
+        client.findById(1L);
+        ResponseEntity<Object> error = client.findById(1L);
+
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, error.getStatusCode());
+        assertBody("{\"error\":\"User with id='1' not found\"}", error);
+        Assertions.assertNull(cache.get(SERVER_URL + "/users/1"));
+
+        assertBody("{\"id\":1}", client.findById(1L));
+        server.verify();
+    }
+
+    @Test
+    void successfulWriteEvictsOnlyItsClientPrefix() {
+        ResponseCache cache = responseCache(ALWAYS_FRESH);
+        ItemClient itemClient = itemClient(cache);
+        UserClient userClient = userClient(cache);
+        MockRestServiceServer items = MockRestServiceServer.bindTo(itemClient.rest).build();
+        MockRestServiceServer users = MockRestServiceServer.bindTo(userClient.rest).build();
+        ItemUpdateDto update = new ItemUpdateDto("New name", null, null);
+
+        items.expect(requestTo(SERVER_URL + "/items/1"))
+             .andRespond(json("{\"name\":\"Old name\"}", "\"v1\""));
+        items.expect(requestTo(SERVER_URL + "/items/1"))
+             .andExpect(method(HttpMethod.PATCH))
+             .andRespond(withStatus(HttpStatus.FORBIDDEN));
+        items.expect(requestTo(SERVER_URL + "/items/1"))
+             .andExpect(method(HttpMethod.PATCH))
+             .andRespond(withSuccess("{\"name\":\"New name\"}", MediaType.APPLICATION_JSON));
+        items.expect(requestTo(SERVER_URL + "/items/1"))
+             .andExpect(method(HttpMethod.GET))
+             .andRespond(json("{\"name\":\"New name\"}", "\"v2\""));
+        users.expect(once(), requestTo(SERVER_URL + "/users/1"))
+             .andRespond(json("{\"id\":1}", "\"v1\""));
+
+        itemClient.findItemById(1L, 1L);
+        userClient.findById(1L);
+
+        Assertions.assertEquals(HttpStatus.FORBIDDEN, itemClient.update(update, 1L, 2L).getStatusCode());
+        assertBody("{\"name\":\"Old name\"}", itemClient.findItemById(1L, 1L));
+
+        Assertions.assertEquals(HttpStatus.OK, itemClient.update(update, 1L, 1L).getStatusCode());
+        assertBody("{\"name\":\"New name\"}", itemClient.findItemById(1L, 1L));
+        assertBody("{\"id\":1}", userClient.findById(1L));
+
+        items.verify();
+        users.verify();
+    }
+
+    @Test
+    void evictByPrefixDropsOnlyThatResource() {
+        ResponseCache cache = responseCache(ALWAYS_FRESH);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"v1\"");
+        byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+        cache.put(SERVER_URL + "/items", SERVER_URL + "/items/1#1", 0, headers, body, false);
+        cache.put(SERVER_URL + "/users", SERVER_URL + "/users/1", 0, headers, body, false);
+        CachedResponse item = cache.get(SERVER_URL + "/items/1#1");
+
+        cache.evictByPrefix(SERVER_URL + "/items");
+
+        Assertions.assertNull(cache.get(SERVER_URL + "/items/1#1"));
+        Assertions.assertNotNull(cache.get(SERVER_URL + "/users/1"));
+
+        // A revalidation that was in flight during the write must not bring the entry back
+        cache.notModified(SERVER_URL + "/items/1#1", item);
+        Assertions.assertNull(cache.get(SERVER_URL + "/items/1#1"));
+
+        long generation = cache.generation(SERVER_URL + "/items");
+        cache.put(SERVER_URL + "/items", SERVER_URL + "/items/1#1", generation, headers, body, false);
+        cache.evictByPrefix(SERVER_URL + "/items");
+        Assertions.assertNull(cache.get(SERVER_URL + "/items/1#1"));
+    }
+
+    @Test
+    void responseReadBeforeWriteIsNotCached() {
+        ResponseCache cache = responseCache(ALWAYS_FRESH);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"v1\"");
+        long generation = cache.generation(SERVER_URL + "/items");
+
+        cache.evictByPrefix(SERVER_URL + "/items");
+        cache.put(SERVER_URL + "/items", SERVER_URL + "/items/1#1", generation, headers, new byte[0], false);
+
+        Assertions.assertNull(cache.get(SERVER_URL + "/items/1#1"));
+    }
+
+    private ResponseCache responseCache(Duration freshFor) {
+        return new ResponseCache(100, Duration.ofMinutes(10), freshFor, meterRegistry);
+    }
+
+    private ItemClient itemClient(ResponseCache cache) {
+        return new ItemClient(SERVER_URL, true, new RestTemplateBuilder(), requestFactory(), cache, coalescer);
+    }
+
+    private UserClient userClient(ResponseCache cache) {
+        return new UserClient(SERVER_URL, true, new RestTemplateBuilder(), requestFactory(), cache, coalescer);
+    }
+
+    private ItemRequestClient itemRequestClient(ResponseCache cache) {
+        return new ItemRequestClient(SERVER_URL, true, new RestTemplateBuilder(), requestFactory(), cache, coalescer);
+    }
+
+    private double revalidations(String result) {
+        return meterRegistry.get("gateway.response.cache.revalidations").tag("result", result).counter().count();
+    }
+
+    private static HttpComponentsClientHttpRequestFactory requestFactory() {
+        return new HttpComponentsClientHttpRequestFactory();
+    }
+
+    private static ResponseCreator json(String body, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+
+        return withSuccess(body, MediaType.APPLICATION_JSON).headers(headers);
+    }
+
+    private static void assertBody(String expected, ResponseEntity<Object> response) {
+        Assertions.assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+
+}
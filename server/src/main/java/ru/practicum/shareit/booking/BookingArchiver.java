@@ -0,0 +1,77 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.contracts.ArchivedBookingRepositoryInterface;
+import ru.practicum.shareit.booking.contracts.BookingRepositoryInterface;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Component
+public class BookingArchiver {
+
+    private final BookingRepositoryInterface bookingRepository;
+    private final ArchivedBookingRepositoryInterface archivedBookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration horizon;
+    private final Limit batchSize;
+
+    public BookingArchiver(
+            final BookingRepositoryInterface bookingRepository,
+            final ArchivedBookingRepositoryInterface archivedBookingRepository,
+            final TransactionTemplate transactionTemplate,
+            @Value("${shareit.booking-archive.horizon:365d}") final Duration horizon,
+            @Value("${shareit.booking-archive.batch-size:1000}") final int batchSize
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.horizon = horizon;
+        this.batchSize = Limit.of(batchSize);
+    }
+
+    @Scheduled(cron = "${shareit.booking-archive.cron:0 0 3 * * *}")
+    public void archive() {
+        archive(LocalDateTime.now());
+    }
+
+    public int archive(final LocalDateTime now) {
+        LocalDateTime endedBefore = now.minus(horizon);
+        int archived = 0;
+        int moved;
+
+        // One transaction per batch keeps row locks short and lets a long backlog drain incrementally
+        do {
+            moved = transactionTemplate.execute(status -> archiveBatch(endedBefore));
+            archived += moved;
+        } while (moved == batchSize.max());
+
+        log.info("Archived {} bookings ended before {}", archived, endedBefore);
+
+        return archived;
+    }
+
+    private int archiveBatch(final LocalDateTime endedBefore) {
+        List<Long> ids = bookingRepository.findAllByEndBeforeForUpdate(endedBefore, batchSize)
+                                          .stream()
+                                          .map(Booking::getId)
+                                          .toList();
+
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        archivedBookingRepository.copyFromBookings(ids);
+
+        return bookingRepository.deleteAllByIdIn(ids);
+    }
+
+}
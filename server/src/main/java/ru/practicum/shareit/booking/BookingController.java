@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,6 +12,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.booking.contracts.BookingServiceInterface;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.model.BookingState;
@@ -36,6 +38,14 @@ public class BookingController {
         return bookingService.create(bookingDto);
     }
 
+    @PostMapping("/batch")
+    public List<BookingDto> createAll(
+            final @RequestBody List<BookingCreateDto> bookingDtos,
+            final @RequestHeader(name = HEADER_USER_ID) Long bookerId
+    ) {
+        return bookingService.createAll(bookingDtos, bookerId);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto approve(
         final @PathVariable Long bookingId,
@@ -45,6 +55,15 @@ public class BookingController {
         return bookingService.approve(bookingId, ownerId, approved);
     }
 
+    @PatchMapping("/batch")
+    public List<BookingApprovalDto> approveAll(
+            final @RequestBody List<Long> bookingIds,
+            final @RequestParam boolean approved,
+            final @RequestHeader(name = HEADER_USER_ID) Long ownerId
+    ) {
+        return bookingService.approveAll(bookingIds, ownerId, approved);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto getById(
             final @PathVariable Long bookingId,
@@ -54,22 +73,37 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> getByBookerAndState(
+    public ResponseEntity<List<BookingDto>> getByBookerAndState(
             final @RequestParam(required = false) BookingState state,
+            final @RequestParam(required = false) String cursor,
+            final @RequestParam(defaultValue = "20") Integer size,
+            final @RequestParam(defaultValue = "false") boolean includeArchive,
             final @RequestHeader(name = HEADER_USER_ID) Long bookerId
     ) {
         return bookingService.getByBookerAndState(
                 bookerId,
-                state == null ? BookingState.ALL : state
-        );
+                state == null ? BookingState.ALL : state,
+                cursor,
+                size,
+                includeArchive
+        ).toResponseEntity();
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getByOwnerAndState(
+    public ResponseEntity<List<BookingDto>> getByOwnerAndState(
             final @RequestParam(required = false) BookingState state,
+            final @RequestParam(required = false) String cursor,
+            final @RequestParam(defaultValue = "20") Integer size,
+            final @RequestParam(defaultValue = "false") boolean includeArchive,
             final @RequestHeader(name = HEADER_USER_ID) Long ownerId
     ) {
-        return bookingService.getByOwnerAndState(ownerId, state);
+        return bookingService.getByOwnerAndState(
+                ownerId,
+                state == null ? BookingState.ALL : state,
+                cursor,
+                size,
+                includeArchive
+        ).toResponseEntity();
     }
 
 }
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.exception.InvalidPaginationException;
+import ru.practicum.shareit.pagination.PageCursor;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+public record BookingCursor(LocalDateTime start, long id) {
+
+    public static final BookingCursor FIRST = new BookingCursor(LocalDateTime.of(9999, 12, 31, 23, 59), Long.MAX_VALUE);
+
+    public static BookingCursor decode(String cursor) {
+        String[] parts = PageCursor.decode(cursor, 2);
+
+        try {
+            return new BookingCursor(LocalDateTime.parse(parts[0]), PageCursor.decodeLong(parts[1]));
+        } catch (DateTimeParseException e) {
+            throw new InvalidPaginationException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        return PageCursor.encode(start, id);
+    }
+
+}
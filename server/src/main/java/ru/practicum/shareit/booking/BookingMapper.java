@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.ArchivedBooking;
 import ru.practicum.shareit.booking.model.Booking;
 
 public class BookingMapper {
@@ -18,4 +19,15 @@ public class BookingMapper {
                 booking.getStatus()
         );
     }
+
+    public static BookingDto toBookingDto(ArchivedBooking booking) {
+        return new BookingDto(
+                booking.getId(),
+                new BookingDto.ItemDto(booking.getItem().getId(), booking.getItem().getName()),
+                new BookingDto.BookerDto(booking.getBooker().getId(), booking.getBooker().getName()),
+                booking.getStart(),
+                booking.getEnd(),
+                booking.getStatus()
+        );
+    }
 }
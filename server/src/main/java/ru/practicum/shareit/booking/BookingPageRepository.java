@@ -0,0 +1,114 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.contracts.BookingPageRepositoryInterface;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.ArchivedBooking;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class BookingPageRepository implements BookingPageRepositoryInterface {
+
+    private static final String SELECT = "SELECT new " + BookingDto.class.getName()
+            + "(b.id, i.id, i.name, u.id, u.name, b.start, b.end, b.status) ";
+    private static final String KEYSET = " AND (b.start < :start OR (b.start = :start AND b.id < :id))"
+            + " ORDER BY b.start DESC, b.id DESC";
+
+    private final EntityManager entityManager;
+    private final Map<Statement, String> statements = new HashMap<>();
+
+    public BookingPageRepository(final EntityManager entityManager) {
+        this.entityManager = entityManager;
+
+        // Every combination is rendered once, so Hibernate keeps a single cached plan per statement
+        for (BookingRole role : BookingRole.values()) {
+            for (BookingState state : BookingState.values()) {
+                statements.put(new Statement(Booking.class, role, state), render(Booking.class, role, state));
+            }
+
+            statements.put(
+                    new Statement(ArchivedBooking.class, role, BookingState.ALL),
+                    render(ArchivedBooking.class, role, BookingState.ALL)
+            );
+        }
+    }
+
+    @Override
+    public List<BookingDto> findPage(
+            final BookingRole role,
+            final BookingState state,
+            final Long userId,
+            final LocalDateTime now,
+            final BookingCursor after,
+            final Limit limit
+    ) {
+        TypedQuery<BookingDto> query = createQuery(new Statement(Booking.class, role, state), userId, after, limit);
+
+        switch (state) {
+            case CURRENT, PAST, FUTURE -> query.setParameter("now", now);
+            case WAITING, REJECTED -> query.setParameter("status", BookingStatus.valueOf(state.name()));
+            default -> {
+            }
+        }
+
+        return query.getResultList();
+    }
+
+    @Override
+    public List<BookingDto> findArchivedPage(
+            final BookingRole role,
+            final Long userId,
+            final BookingCursor after,
+            final Limit limit
+    ) {
+        return createQuery(new Statement(ArchivedBooking.class, role, BookingState.ALL), userId, after, limit)
+                .getResultList();
+    }
+
+    private TypedQuery<BookingDto> createQuery(
+            final Statement statement,
+            final Long userId,
+            final BookingCursor after,
+            final Limit limit
+    ) {
+        return entityManager.createQuery(statements.get(statement), BookingDto.class)
+                            .setParameter("userId", userId)
+                            .setParameter("start", after.start())
+                            .setParameter("id", after.id())
+                            .setMaxResults(limit.max());
+    }
+
+    private static String render(final Class<?> entity, final BookingRole role, final BookingState state) {
+        StringBuilder jpql = new StringBuilder(SELECT)
+                .append("FROM ").append(entity.getSimpleName()).append(" b ")
+                .append("JOIN b.item i ")
+                .append("JOIN b.booker u ")
+                .append(role == BookingRole.BOOKER ? "WHERE u.id = :userId" : "WHERE i.owner.id = :userId");
+
+        switch (state) {
+            case CURRENT -> jpql.append(" AND b.start < :now AND b.end > :now");
+            case PAST -> jpql.append(" AND b.end < :now");
+            case FUTURE -> jpql.append(" AND b.start > :now");
+            case WAITING, REJECTED -> jpql.append(" AND b.status = :status");
+            default -> {
+            }
+        }
+
+        return jpql.append(KEYSET).toString();
+    }
+
+    private record Statement(Class<?> entity, BookingRole role, BookingState state) {
+    }
+
+}
@@ -2,27 +2,56 @@ package ru.practicum.shareit.booking;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.contracts.ArchivedBookingRepositoryInterface;
+import ru.practicum.shareit.booking.contracts.BookingPageRepositoryInterface;
 import ru.practicum.shareit.booking.contracts.BookingRepositoryInterface;
 import ru.practicum.shareit.booking.contracts.BookingServiceInterface;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.model.ArchivedBooking;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
-import ru.practicum.shareit.exception.InvalidBookingStatusException;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.exception.BookingStatusConflictException;
 import ru.practicum.shareit.exception.InvalidOwnerException;
 import ru.practicum.shareit.exception.ItemUnavailableException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.availability.ItemAvailabilityCache;
 import ru.practicum.shareit.item.contracts.ItemRepositoryInterface;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.user.contracts.UserRepositoryInterface;
 import ru.practicum.shareit.user.model.User;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 
 @Slf4j
 @Service
@@ -31,20 +60,32 @@ import java.util.List;
 public class BookingService implements BookingServiceInterface {
 
     private static final String BOOKING_NOT_FOUND = "Booking with id='%d' not found";
+    private static final String BOOKING_PROCESSED = "Booking with id='%d' has already been processed";
+    private static final String BOOKING_ARCHIVED = "Booking with id='%d' has been archived";
     private static final String USER_NOT_FOUND = "User with id='%d' not found";
+    private static final String ITEM_NOT_FOUND = "Item with id='%d' not found";
+    private static final String BOOKING_OVERLAP = "Item with id='%d' is already booked for this period";
+    private static final String BATCH_OVERLAP = "Some of the items are already booked for this period";
+    private static final String EXCLUSION_VIOLATION = "23P01";
+    private static final Comparator<BookingDto> NEWEST_FIRST = Comparator.comparing(BookingDto::getStart)
+                                                                         .thenComparing(BookingDto::getId)
+                                                                         .reversed();
 
     private final BookingRepositoryInterface bookingRepository;
+    private final BookingPageRepositoryInterface bookingPageRepository;
+    private final ArchivedBookingRepositoryInterface archivedBookingRepository;
     private final ItemRepositoryInterface itemRepository;
     private final UserRepositoryInterface userRepository;
-    private final Sort sort = Sort.by(Sort.Direction.DESC, "start");
+    private final ItemAvailabilityCache itemAvailabilityCache;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     @Transactional
     public BookingDto create(final BookingCreateDto bookingDto) {
         log.info("Create booking={}", bookingDto);
 
-        Item item = itemRepository.findById(bookingDto.getItemId()).orElseThrow(
-                () -> new NotFoundException("Item with id='%d' not found".formatted(bookingDto.getItemId()))
+        Item item = itemRepository.findByIdForUpdate(bookingDto.getItemId()).orElseThrow(
+                () -> new NotFoundException(ITEM_NOT_FOUND.formatted(bookingDto.getItemId()))
         );
 
         User booker = userRepository.findById(bookingDto.getBookerId()).orElseThrow(
@@ -55,17 +96,57 @@ public class BookingService implements BookingServiceInterface {
             throw new ItemUnavailableException("Item not available");
         }
 
-        Booking booking = new Booking();
+        if (bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(
+                item.getId(),
+                BookingStatus.BLOCKING,
+                bookingDto.getEnd(),
+                bookingDto.getStart()
+        )) {
+            throw new BookingOverlapException(BOOKING_OVERLAP.formatted(item.getId()));
+        }
 
-        booking.setItem(item);
-        booking.setBooker(booker);
-        booking.setStart(bookingDto.getStart());
-        booking.setEnd(bookingDto.getEnd());
-        booking.setStatus(BookingStatus.WAITING);
+        Booking booking = saveAndFlush(List.of(newBooking(item, booker, bookingDto))).getFirst();
 
-        return BookingMapper.toBookingDto(
-                bookingRepository.save(booking)
+        return BookingMapper.toBookingDto(booking);
+    }
+
+    @Override
+    @Transactional
+    public List<BookingDto> createAll(final List<BookingCreateDto> bookingDtos, final Long bookerId) {
+        log.info("Create {} bookings by booker={}", bookingDtos.size(), bookerId);
+
+        User booker = userRepository.findById(bookerId).orElseThrow(
+                () -> new NotFoundException(USER_NOT_FOUND.formatted(bookerId))
         );
+
+        if (bookingDtos.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, Item> items = itemRepository
+                .findAllByIdInForUpdate(bookingDtos.stream().map(BookingCreateDto::getItemId).collect(toSet()))
+                .stream()
+                .collect(toMap(Item::getId, Function.identity()));
+
+        List<Booking> bookings = new ArrayList<>(bookingDtos.size());
+
+        for (BookingCreateDto bookingDto : bookingDtos) {
+            Item item = items.get(bookingDto.getItemId());
+
+            if (item == null) {
+                throw new NotFoundException(ITEM_NOT_FOUND.formatted(bookingDto.getItemId()));
+            }
+
+            if (!item.getAvailable()) {
+                throw new ItemUnavailableException("Item with id='%d' not available".formatted(item.getId()));
+            }
+
+            bookings.add(newBooking(item, booker, bookingDto));
+        }
+
+        checkNoOverlap(bookings, items.keySet());
+
+        return saveAndFlush(bookings).stream().map(BookingMapper::toBookingDto).toList();
     }
 
     @Override
@@ -73,96 +154,355 @@ public class BookingService implements BookingServiceInterface {
     public BookingDto approve(final Long id, final Long ownerId, final boolean approved) {
         log.info("Approve booking={}, owner: {}", id, ownerId);
 
-        Booking booking = bookingRepository.findById(id).orElseThrow(
-                () -> new NotFoundException(BOOKING_NOT_FOUND.formatted(id))
-        );
+        Booking booking = bookingRepository.findById(id).orElse(null);
 
-        if (!booking.getStatus().equals(BookingStatus.WAITING)) {
-            throw new InvalidBookingStatusException("Booking with id='%d' is already in progress".formatted(id));
+        if (booking == null && archivedBookingRepository.existsById(id)) {
+            throw new BookingStatusConflictException(BOOKING_ARCHIVED.formatted(id));
         }
 
-        if (!booking.getItem().getOwner().getId().equals(ownerId)) {
-            throw new InvalidOwnerException("User id='%d' is not owner".formatted(ownerId));
+        checkApprovable(booking, id, ownerId);
+
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+
+        if (bookingRepository.updateStatus(List.of(id), BookingStatus.WAITING, status) == 0) {
+            throw new BookingStatusConflictException(BOOKING_PROCESSED.formatted(id));
         }
 
-        booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
+        booking.setStatus(status);
 
-        bookingRepository.save(booking);
+        if (!approved) {
+            itemAvailabilityCache.invalidate(booking.getItem().getId());
+        }
 
         return BookingMapper.toBookingDto(booking);
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BookingApprovalDto> approveAll(final List<Long> ids, final Long ownerId, final boolean approved) {
+        log.info("Approve bookings={}, owner: {}, approved: {}", ids, ownerId, approved);
+
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+
+        if (uniqueIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+
+        // The row count of one update can't tell which bookings a concurrent approve took first,
+        // so a batch that lost any of them is rolled back and redone booking by booking
+        Approval approval = transactionTemplate.execute(tx -> approve(uniqueIds, ownerId, status, true, tx));
+
+        if (approval == null) {
+            approval = transactionTemplate.execute(tx -> approve(uniqueIds, ownerId, status, false, tx));
+        }
+
+        if (!approved) {
+            approval.changedItemIds()
+                    .stream()
+                    .distinct()
+                    .forEach(itemAvailabilityCache::invalidate);
+        }
+
+        return approval.results();
+    }
+
+    private Approval approve(
+            final Set<Long> ids,
+            final Long ownerId,
+            final BookingStatus status,
+            final boolean bulk,
+            final TransactionStatus tx
+    ) {
+        Map<Long, Booking> bookings = bookingRepository.findAllWithItemByIdIn(ids)
+                                                       .stream()
+                                                       .collect(toMap(Booking::getId, Function.identity()));
+        Map<Long, ArchivedBooking> archived = archivedBookingRepository.findAllById(
+                ids.stream().filter(id -> !bookings.containsKey(id)).toList()
+        ).stream().collect(toMap(ArchivedBooking::getId, Function.identity()));
+
+        Map<Long, BookingApprovalDto> results = new LinkedHashMap<>();
+        List<Booking> approvable = new ArrayList<>(ids.size());
+
+        for (Long id : ids) {
+            Booking booking = bookings.get(id);
+
+            if (archived.containsKey(id)) {
+                results.put(id, new BookingApprovalDto(
+                        id,
+                        false,
+                        archived.get(id).getStatus(),
+                        BOOKING_ARCHIVED.formatted(id)
+                ));
+                continue;
+            }
+
+            try {
+                checkApprovable(booking, id, ownerId);
+            } catch (NotFoundException | BookingStatusConflictException | InvalidOwnerException e) {
+                results.put(id, new BookingApprovalDto(
+                        id,
+                        false,
+                        booking == null ? null : booking.getStatus(),
+                        e.getMessage()
+                ));
+                continue;
+            }
+
+            approvable.add(booking);
+            results.put(id, null);
+        }
+
+        List<Long> changedItemIds = new ArrayList<>(approvable.size());
+
+        if (bulk && !approvable.isEmpty()) {
+            int updated = bookingRepository.updateStatus(
+                    approvable.stream().map(Booking::getId).toList(),
+                    BookingStatus.WAITING,
+                    status
+            );
+
+            if (updated != approvable.size()) {
+                tx.setRollbackOnly();
+
+                return null;
+            }
+        }
+
+        // Going in id order keeps two overlapping batches from deadlocking on row locks
+        approvable.sort(Comparator.comparing(Booking::getId));
+
+        for (Booking booking : approvable) {
+            Long id = booking.getId();
+
+            if (!bulk && bookingRepository.updateStatus(List.of(id), BookingStatus.WAITING, status) == 0) {
+                results.put(id, new BookingApprovalDto(
+                        id,
+                        false,
+                        bookingRepository.findById(id).map(Booking::getStatus).orElse(null),
+                        BOOKING_PROCESSED.formatted(id)
+                ));
+                continue;
+            }
+
+            changedItemIds.add(booking.getItem().getId());
+            results.put(id, new BookingApprovalDto(id, true, status, null));
+        }
+
+        return new Approval(new ArrayList<>(results.values()), changedItemIds);
+    }
+
     @Override
     public BookingDto getById(final Long id, final Long userId) {
         log.info("Get booking={}, userId: {}", id, userId);
 
-        Booking booking = bookingRepository.findById(id).orElseThrow(
-                () -> new NotFoundException(BOOKING_NOT_FOUND.formatted(id))
-        );
+        Booking booking = bookingRepository.findById(id).orElse(null);
 
-        if (
-                booking.getBooker().getId().equals(userId)
-                        || booking.getItem().getOwner().getId().equals(userId)
-        ) {
+        if (booking != null && isParticipant(booking.getBooker(), booking.getItem(), userId)) {
             return BookingMapper.toBookingDto(booking);
         }
 
+        // Old bookings are moved to the archive, and their participants can still open them
+        if (booking == null) {
+            ArchivedBooking archived = archivedBookingRepository.findById(id).orElse(null);
+
+            if (archived != null && isParticipant(archived.getBooker(), archived.getItem(), userId)) {
+                return BookingMapper.toBookingDto(archived);
+            }
+        }
+
         throw new NotFoundException(BOOKING_NOT_FOUND.formatted(id));
     }
 
     @Override
-    public List<BookingDto> getByBookerAndState(final Long bookerId, final BookingState state) {
-        log.info("Get bookings by booker={}, state: {}", bookerId, state);
-
-        User booker = userRepository.findById(bookerId).orElseThrow(
-                () -> new NotFoundException(USER_NOT_FOUND.formatted(bookerId))
+    public CursorPage<BookingDto> getByBookerAndState(
+            final Long bookerId,
+            final BookingState state,
+            final String cursor,
+            final Integer size,
+            final boolean includeArchive
+    ) {
+        log.info(
+                "Get bookings by booker={}, state: {}, cursor: {}, size: {}, includeArchive: {}",
+                bookerId,
+                state,
+                cursor,
+                size,
+                includeArchive
         );
 
-        List<Booking> list = switch (state) {
-            case WAITING -> bookingRepository.findAllByBookerAndStatus(booker, BookingStatus.WAITING, sort);
-            case REJECTED -> bookingRepository.findAllByBookerAndStatus(booker, BookingStatus.REJECTED, sort);
-            case CURRENT -> bookingRepository.findAllByBookerAndStartBeforeAndEndAfter(
-                    booker,
-                    LocalDateTime.now(),
-                    LocalDateTime.now(),
-                    sort
-            );
-            case PAST -> bookingRepository.findAllByBookerAndEndBefore(booker, LocalDateTime.now(), sort);
-            case FUTURE -> bookingRepository.findAllByBookerAndStartAfter(booker, LocalDateTime.now(), sort);
-            default -> bookingRepository.findAllByBooker(booker, sort);
-        };
-
-        return list
-                .stream()
-                .map(BookingMapper::toBookingDto)
-                .toList();
+        return getPage(BookingRole.BOOKER, bookerId, state, cursor, size, includeArchive);
     }
 
     @Override
-    public List<BookingDto> getByOwnerAndState(final Long ownerId, final BookingState state) {
+    public CursorPage<BookingDto> getByOwnerAndState(
+            final Long ownerId,
+            final BookingState state,
+            final String cursor,
+            final Integer size,
+            final boolean includeArchive
+    ) {
+        log.info(
+                "Get bookings by owner={}, state: {}, cursor: {}, size: {}, includeArchive: {}",
+                ownerId,
+                state,
+                cursor,
+                size,
+                includeArchive
+        );
+
+        return getPage(BookingRole.OWNER, ownerId, state, cursor, size, includeArchive);
+    }
 
-        User owner = userRepository.findById(ownerId).orElseThrow(
-                () -> new NotFoundException(USER_NOT_FOUND.formatted(ownerId))
+    private CursorPage<BookingDto> getPage(
+            final BookingRole role,
+            final Long userId,
+            final BookingState state,
+            final String cursor,
+            final Integer size,
+            final boolean includeArchive
+    ) {
+        User user = userRepository.findById(userId).orElseThrow(
+                () -> new NotFoundException(USER_NOT_FOUND.formatted(userId))
         );
 
-        List<Booking> list = switch (state) {
-            case WAITING -> bookingRepository.findAllByItemOwnerAndStatus(owner, BookingStatus.WAITING, sort);
-            case REJECTED -> bookingRepository.findAllByItemOwnerAndStatus(owner, BookingStatus.REJECTED, sort);
-            case CURRENT -> bookingRepository.findAllByItemOwnerAndStartBeforeAndEndAfter(
-                    owner,
-                    LocalDateTime.now(),
-                    LocalDateTime.now(),
-                    sort
-            );
-            case PAST -> bookingRepository.findAllByItemOwnerAndEndBefore(owner, LocalDateTime.now(), sort);
-            case FUTURE -> bookingRepository.findAllByItemOwnerAndStartAfter(owner, LocalDateTime.now(), sort);
-            default -> bookingRepository.findAllByItemOwner(owner, sort);
-        };
+        Limit limit = Limit.of(OffsetPageRequest.pageSize(size));
+        BookingCursor after = cursor == null ? BookingCursor.FIRST : BookingCursor.decode(cursor);
+        List<BookingDto> bookings = bookingPageRepository.findPage(
+                role,
+                state,
+                user.getId(),
+                LocalDateTime.now(),
+                after,
+                limit
+        );
+
+        // Archived bookings all ended before the archive horizon, so they belong to both PAST and ALL
+        if (includeArchive && (state == BookingState.PAST || state == BookingState.ALL)) {
+            return toPage(bookings, bookingPageRepository.findArchivedPage(role, user.getId(), after, limit), limit);
+        }
+
+        return toPage(bookings, List.of(), limit);
+    }
+
+    private static boolean isParticipant(final User booker, final Item item, final Long userId) {
+        return booker.getId().equals(userId) || item.getOwner().getId().equals(userId);
+    }
+
+    private static void checkApprovable(final Booking booking, final Long id, final Long ownerId) {
+        if (booking == null) {
+            throw new NotFoundException(BOOKING_NOT_FOUND.formatted(id));
+        }
+
+        if (!booking.getStatus().equals(BookingStatus.WAITING)) {
+            // A concurrent approve that committed first lands here, and it must look the same as losing the update
+            throw new BookingStatusConflictException(BOOKING_PROCESSED.formatted(id));
+        }
+
+        if (!booking.getItem().getOwner().getId().equals(ownerId)) {
+            throw new InvalidOwnerException("User id='%d' is not owner".formatted(ownerId));
+        }
+    }
+
+    private List<Booking> saveAndFlush(final List<Booking> bookings) {
+        List<Booking> saved;
+
+        try {
+            saved = bookingRepository.saveAllAndFlush(bookings);
+        } catch (DataIntegrityViolationException e) {
+            if (isExclusionViolation(e)) {
+                throw new BookingOverlapException(
+                        bookings.size() == 1
+                                ? BOOKING_OVERLAP.formatted(bookings.getFirst().getItem().getId())
+                                : BATCH_OVERLAP
+                );
+            }
+
+            throw e;
+        }
+
+        saved.forEach(booking -> itemAvailabilityCache.markBusy(
+                booking.getItem().getId(),
+                booking.getStart(),
+                booking.getEnd()
+        ));
 
-        return list
+        return saved;
+    }
+
+    private void checkNoOverlap(final List<Booking> bookings, final Collection<Long> itemIds) {
+        LocalDateTime from = bookings.stream().map(Booking::getStart).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime to = bookings.stream().map(Booking::getEnd).max(Comparator.naturalOrder()).orElseThrow();
+
+        Map<Long, List<Booking>> taken = bookingRepository
+                .findAllByItemIdInAndStatusInAndStartBeforeAndEndAfter(itemIds, BookingStatus.BLOCKING, to, from)
                 .stream()
-                .map(BookingMapper::toBookingDto)
-                .toList();
+                .collect(groupingBy(booking -> booking.getItem().getId(), toCollection(ArrayList::new)));
+
+        for (Booking booking : bookings) {
+            List<Booking> itemBookings = taken.computeIfAbsent(booking.getItem().getId(), id -> new ArrayList<>());
+
+            if (itemBookings.stream().anyMatch(other -> overlaps(booking, other))) {
+                throw new BookingOverlapException(BOOKING_OVERLAP.formatted(booking.getItem().getId()));
+            }
+
+            itemBookings.add(booking);
+        }
+    }
+
+    private static boolean overlaps(final Booking first, final Booking second) {
+        return first.getStart().isBefore(second.getEnd()) && first.getEnd().isAfter(second.getStart());
+    }
+
+    private static Booking newBooking(final Item item, final User booker, final BookingCreateDto bookingDto) {
+        Booking booking = new Booking();
+
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStart(bookingDto.getStart());
+        booking.setEnd(bookingDto.getEnd());
+        booking.setStatus(BookingStatus.WAITING);
+
+        return booking;
+    }
+
+    private static boolean isExclusionViolation(final Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static CursorPage<BookingDto> toPage(
+            final List<BookingDto> bookings,
+            final List<BookingDto> archivedBookings,
+            final Limit limit
+    ) {
+        List<BookingDto> content = bookings;
+
+        if (!archivedBookings.isEmpty()) {
+            // Both lists are already the first page of their table in keyset order, so merging them is enough
+            content = Stream.concat(bookings.stream(), archivedBookings.stream())
+                            .sorted(NEWEST_FIRST)
+                            .limit(limit.max())
+                            .toList();
+        }
+
+        String nextCursor = null;
+
+        if (content.size() == limit.max()) {
+            BookingDto last = content.getLast();
+            nextCursor = new BookingCursor(last.getStart(), last.getId()).encode();
+        }
+
+        return new CursorPage<>(content, nextCursor);
+    }
+
+    private record Approval(List<BookingApprovalDto> results, List<Long> changedItemIds) {
     }
 
 }
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.booking.contracts;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.model.ArchivedBooking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.ItemBookingView;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ArchivedBookingRepositoryInterface extends JpaRepository<ArchivedBooking, Long> {
+
+    boolean existsByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(Long bookerId, Long itemId, BookingStatus bookingStatus, LocalDateTime end);
+
+    @Query(value = """
+            SELECT b.item_id, b.id, b.start_date, b.end_date
+            FROM bookings_archive b
+            WHERE b.id IN (
+                SELECT (
+                    SELECT l.id
+                    FROM bookings_archive l
+                    WHERE l.item_id = i.id AND l.status = 'APPROVED' AND l.start_date <= :now
+                    ORDER BY l.start_date DESC, l.id DESC
+                    FETCH FIRST 1 ROWS ONLY
+                )
+                FROM items i
+                WHERE i.id IN (:itemIds)
+            )
+            """, nativeQuery = true)
+    List<Object[]> findLastApprovedBookingsRows(
+            @Param("itemIds") Collection<Long> itemIds,
+            @Param("now") LocalDateTime now
+    );
+
+    default List<ItemBookingView> findLastApprovedBookings(Collection<Long> itemIds, LocalDateTime now) {
+        return findLastApprovedBookingsRows(itemIds, now).stream().map(ItemBookingView::fromRow).toList();
+    }
+
+    // Without declared spaces Hibernate treats native DML as touching every table and drops the whole second-level cache
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "bookings_archive"))
+    @Query(value = """
+            INSERT INTO bookings_archive (id, start_date, end_date, item_id, booker_id, status)
+            SELECT id, start_date, end_date, item_id, booker_id, status
+            FROM bookings
+            WHERE id IN (:ids)
+            """, nativeQuery = true)
+    int copyFromBookings(@Param("ids") Collection<Long> ids);
+
+}
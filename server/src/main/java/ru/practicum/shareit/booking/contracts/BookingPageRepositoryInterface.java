@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.contracts;
+
+import org.springframework.data.domain.Limit;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingState;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingPageRepositoryInterface {
+
+    List<BookingDto> findPage(
+            BookingRole role,
+            BookingState state,
+            Long userId,
+            LocalDateTime now,
+            BookingCursor after,
+            Limit limit
+    );
+
+    List<BookingDto> findArchivedPage(BookingRole role, Long userId, BookingCursor after, Limit limit);
+
+}
@@ -1,50 +1,104 @@
 package ru.practicum.shareit.booking.contracts;
 
-import org.springframework.data.domain.Sort;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.booking.model.BookingPeriod;
+import ru.practicum.shareit.booking.model.ItemBookingView;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepositoryInterface extends JpaRepository<Booking, Long> {
 
-    List<Booking> findAllByBookerAndStatus(User booker, BookingStatus bookingStatus, Sort sort);
-
-    List<Booking> findAllByBooker(User booker, Sort sort);
+    @Override
+    @EntityGraph(Booking.ENTITY_GRAPH_BOOKING_ITEM_BOOKER)
+    Optional<Booking> findById(Long id);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item WHERE b.id IN :ids ORDER BY b.id")
+    List<Booking> findAllWithItemByIdIn(Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :status WHERE b.id IN :ids AND b.status = :expected")
+    int updateStatus(Collection<Long> ids, BookingStatus expected, BookingStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.end < :end")
+    List<Booking> findAllByEndBeforeForUpdate(LocalDateTime end, Limit limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Booking b WHERE b.id IN :ids")
+    int deleteAllByIdIn(Collection<Long> ids);
+
+    @Query(
+            "SELECT new ru.practicum.shareit.booking.model.BookingPeriod(b.start, b.end) " +
+            "FROM Booking b " +
+            "WHERE b.item.id = :itemId AND b.status IN :statuses AND b.start < :to AND b.end > :from"
+    )
+    List<BookingPeriod> findPeriodsByItemIdAndStatusInBetween(
+            Long itemId,
+            Collection<BookingStatus> statuses,
+            LocalDateTime from,
+            LocalDateTime to
+    );
 
-    List<Booking> findAllByBookerAndStartBeforeAndEndAfter(
-            User booker,
-            LocalDateTime start,
+    List<Booking> findAllByItemIdInAndStatusInAndStartBeforeAndEndAfter(
+            Collection<Long> itemIds,
+            Collection<BookingStatus> statuses,
             LocalDateTime end,
-            Sort sort
+            LocalDateTime start
     );
 
-    List<Booking> findAllByBookerAndEndBefore(User booker, LocalDateTime start, Sort sort);
-
-    List<Booking> findAllByBookerAndStartAfter(User booker, LocalDateTime start, Sort sort);
-
-    List<Booking> findAllByItemOwnerAndStatus(User owner, BookingStatus bookingStatus, Sort sort);
-
-    List<Booking> findAllByItemOwner(User owner, Sort sort);
-
-    List<Booking> findAllByItemOwnerAndStartBeforeAndEndAfter(
-            User owner,
-            LocalDateTime start,
+    boolean existsByItemIdAndStatusInAndStartBeforeAndEndAfter(
+            Long itemId,
+            Collection<BookingStatus> statuses,
             LocalDateTime end,
-            Sort sort
+            LocalDateTime start
     );
 
-    List<Booking> findAllByItemOwnerAndEndBefore(User owner, LocalDateTime start, Sort sort);
-
-    List<Booking> findAllByItemOwnerAndStartAfter(User owner, LocalDateTime start, Sort sort);
-
     boolean existsByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(Long bookerId, Long itemId, BookingStatus bookingStatus, LocalDateTime end);
 
-    @EntityGraph(Booking.ENTITY_GRAPH_BOOKING_ITEM)
-    List<Booking> findAllByItem_IdInAndStatus(List<Long> itemIds, BookingStatus bookingStatus, Sort sort);
+    @Query(value = """
+            SELECT b.item_id, b.id, b.start_date, b.end_date
+            FROM bookings b
+            WHERE b.id IN (
+                SELECT (
+                    SELECT l.id
+                    FROM bookings l
+                    WHERE l.item_id = i.id AND l.status = 'APPROVED' AND l.start_date <= :now
+                    ORDER BY l.start_date DESC, l.id DESC
+                    FETCH FIRST 1 ROWS ONLY
+                )
+                FROM items i
+                WHERE i.id IN (:itemIds)
+                UNION ALL
+                SELECT (
+                    SELECT n.id
+                    FROM bookings n
+                    WHERE n.item_id = i.id AND n.status = 'APPROVED' AND n.start_date > :now
+                    ORDER BY n.start_date, n.id
+                    FETCH FIRST 1 ROWS ONLY
+                )
+                FROM items i
+                WHERE i.id IN (:itemIds)
+            )
+            """, nativeQuery = true)
+    List<Object[]> findLastAndNextApprovedBookingsRows(
+            @Param("itemIds") Collection<Long> itemIds,
+            @Param("now") LocalDateTime now
+    );
+
+    default List<ItemBookingView> findLastAndNextApprovedBookings(Collection<Long> itemIds, LocalDateTime now) {
+        return findLastAndNextApprovedBookingsRows(itemIds, now).stream().map(ItemBookingView::fromRow).toList();
+    }
 
 }
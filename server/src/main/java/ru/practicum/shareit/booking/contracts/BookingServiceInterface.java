@@ -1,8 +1,10 @@
 package ru.practicum.shareit.booking.contracts;
 
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.util.List;
 
@@ -10,12 +12,28 @@ public interface BookingServiceInterface {
 
     BookingDto create(BookingCreateDto bookingDto);
 
+    List<BookingDto> createAll(List<BookingCreateDto> bookingDtos, Long bookerId);
+
     BookingDto approve(Long id, Long ownerId, boolean approved);
 
-    BookingDto getById(Long id, Long userId);
+    List<BookingApprovalDto> approveAll(List<Long> ids, Long ownerId, boolean approved);
 
-    List<BookingDto> getByBookerAndState(Long bookerId, BookingState state);
+    BookingDto getById(Long id, Long userId);
 
-    List<BookingDto> getByOwnerAndState(Long ownerId, BookingState state);
+    CursorPage<BookingDto> getByBookerAndState(
+            Long bookerId,
+            BookingState state,
+            String cursor,
+            Integer size,
+            boolean includeArchive
+    );
+
+    CursorPage<BookingDto> getByOwnerAndState(
+            Long ownerId,
+            BookingState state,
+            String cursor,
+            Integer size,
+            boolean includeArchive
+    );
 
 }
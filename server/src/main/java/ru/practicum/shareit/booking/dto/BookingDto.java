@@ -26,6 +26,19 @@ public class BookingDto {
 
     private BookingStatus status;
 
+    public BookingDto(
+            Long id,
+            Long itemId,
+            String itemName,
+            Long bookerId,
+            String bookerName,
+            LocalDateTime start,
+            LocalDateTime end,
+            BookingStatus status
+    ) {
+        this(id, new ItemDto(itemId, itemName), new BookerDto(bookerId, bookerName), start, end, status);
+    }
+
     public record ItemDto(Long id, String name) {
     }
 
@@ -12,6 +12,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.NamedAttributeNode;
 import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -29,17 +30,20 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "bookings")
 @NamedEntityGraph(
-        name = Booking.ENTITY_GRAPH_BOOKING_ITEM,
+        name = Booking.ENTITY_GRAPH_BOOKING_ITEM_BOOKER,
         attributeNodes = {
-                @NamedAttributeNode(value = "item")
+                @NamedAttributeNode(value = "item"),
+                @NamedAttributeNode(value = "booker")
         }
 )
 public class Booking {
 
-    public static final String ENTITY_GRAPH_BOOKING_ITEM = "booking.item";
+    public static final String ENTITY_GRAPH_BOOKING_ITEM_BOOKER = "booking.item.booker";
+    public static final String SEQUENCE_NAME = "bookings_seq";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = SEQUENCE_NAME)
+    @SequenceGenerator(name = SEQUENCE_NAME, sequenceName = SEQUENCE_NAME, allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,8 +1,12 @@
 package ru.practicum.shareit.booking.model;
 
+import java.util.Set;
+
 public enum BookingStatus {
     WAITING,
     APPROVED,
     REJECTED,
-    CANCELLED
+    CANCELLED;
+
+    public static final Set<BookingStatus> BLOCKING = Set.of(WAITING, APPROVED);
 }
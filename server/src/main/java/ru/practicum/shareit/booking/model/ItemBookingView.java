@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.model;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+public record ItemBookingView(Long itemId, Long id, LocalDateTime start, LocalDateTime end) {
+
+    /**
+     * Maps a native {@code item_id, id, start_date, end_date} row.
+     */
+    public static ItemBookingView fromRow(Object[] row) {
+        return new ItemBookingView(
+                ((Number) row[0]).longValue(),
+                ((Number) row[1]).longValue(),
+                toLocalDateTime(row[2]),
+                toLocalDateTime(row[3])
+        );
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+
+@Configuration
+public class HibernateCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager(
+            @Value("${shareit.hibernate-cache.config:classpath:hibernate-cache.conf}") final URI config
+    ) {
+        // Hibernate closes the cache manager with the session factory, so it must not be shared through
+        // the provider's static registry with another application context
+        CachingProvider provider = new CaffeineCachingProvider();
+        CacheManager cacheManager = provider.getCacheManager(config, provider.getDefaultClassLoader());
+
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    // The reads the gateway caches; anything else would pay for buffering and hashing the body for nothing
+    private static final List<PathPattern> ETAG_PATHS = Stream.of(
+            "/users/{userId:\\d+}",
+            "/items/{itemId:\\d+}",
+            "/items/search",
+            "/requests/{requestId:\\d+}"
+    ).map(PathPatternParser.defaultInstance::parse).toList();
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        // Lets the gateway revalidate cached cards and search pages without the body coming back over the wire.
+        // The filter buffers the whole body, so it must stay off streamed responses such as NDJSON GET /items
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter() {
+                    @Override
+                    protected boolean shouldNotFilter(final HttpServletRequest request) {
+                        PathContainer path = RequestPath.parse(request.getRequestURI(), request.getContextPath())
+                                                        .pathWithinApplication();
+
+                        return ETAG_PATHS.stream().noneMatch(pattern -> pattern.matches(path));
+                    }
+                });
+        registration.addUrlPatterns("/users/*", "/items/*", "/requests/*");
+
+        return registration;
+    }
+
+    @Override
+    public void extendMessageConverters(final List<HttpMessageConverter<?>> converters) {
+        // A single JSON document is a valid NDJSON stream, so errors can be written to streaming clients too
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter instanceof MappingJackson2HttpMessageConverter jackson) {
+                List<MediaType> mediaTypes = new ArrayList<>(jackson.getSupportedMediaTypes());
+                mediaTypes.add(MediaType.APPLICATION_NDJSON);
+                jackson.setSupportedMediaTypes(mediaTypes);
+            }
+        }
+    }
+
+}
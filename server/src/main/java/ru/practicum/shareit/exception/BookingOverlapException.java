@@ -0,0 +1,9 @@
+package ru.practicum.shareit.exception;
+
+public class BookingOverlapException extends IllegalArgumentException {
+
+    public BookingOverlapException(String message) {
+        super(message);
+    }
+
+}
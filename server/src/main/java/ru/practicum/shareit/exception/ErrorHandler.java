@@ -36,6 +36,22 @@ public class ErrorHandler {
         return new ErrorResponse(e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleNotFoundException(final InvalidPaginationException e) {
+        log.warn(ERROR_LOG_MESSAGE, HttpStatus.BAD_REQUEST, e.getMessage());
+
+        return new ErrorResponse(e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleNotFoundException(final InvalidAvailabilityRangeException e) {
+        log.warn(ERROR_LOG_MESSAGE, HttpStatus.BAD_REQUEST, e.getMessage());
+
+        return new ErrorResponse(e.getMessage());
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.CONFLICT)
     public ErrorResponse handleNotFoundException(final NotUniqueEmailException e) {
@@ -45,17 +61,25 @@ public class ErrorHandler {
     }
 
     @ExceptionHandler
-    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-    public ErrorResponse handleOtherException(final Throwable e) {
-        log.warn(ERROR_LOG_MESSAGE, HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleNotFoundException(final BookingOverlapException e) {
+        log.warn(ERROR_LOG_MESSAGE, HttpStatus.CONFLICT, e.getMessage());
 
         return new ErrorResponse(e.getMessage());
     }
 
     @ExceptionHandler
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ErrorResponse handleOtherException(final InvalidBookingStatusException e) {
-        log.warn(ERROR_LOG_MESSAGE, HttpStatus.BAD_REQUEST, e.getMessage());
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleNotFoundException(final BookingStatusConflictException e) {
+        log.warn(ERROR_LOG_MESSAGE, HttpStatus.CONFLICT, e.getMessage());
+
+        return new ErrorResponse(e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+    public ErrorResponse handleOtherException(final Throwable e) {
+        log.warn(ERROR_LOG_MESSAGE, HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
 
         return new ErrorResponse(e.getMessage());
     }
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.exception;
+
+public class InvalidAvailabilityRangeException extends IllegalArgumentException {
+
+    public InvalidAvailabilityRangeException(String message) {
+        super(message);
+    }
+
+}
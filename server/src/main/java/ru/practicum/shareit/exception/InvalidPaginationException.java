@@ -0,0 +1,9 @@
+package ru.practicum.shareit.exception;
+
+public class InvalidPaginationException extends IllegalArgumentException {
+
+    public InvalidPaginationException(String message) {
+        super(message);
+    }
+
+}
@@ -1,6 +1,10 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,15 +14,20 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.exception.EmptyIdException;
 import ru.practicum.shareit.item.contracts.ItemServiceInterface;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemInfoDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -28,6 +37,7 @@ public class ItemController {
 
     private static final String HEADER_USER_ID = "X-Sharer-User-Id";
     private ItemServiceInterface itemService;
+    private ObjectMapper objectMapper;
 
     @PostMapping
     public ItemDto create(
@@ -60,14 +70,71 @@ public class ItemController {
         return itemService.findItemById(itemId, userId);
     }
 
-    @GetMapping
-    public List<ItemInfoDto> getItemsByOwner(final @RequestHeader(name = HEADER_USER_ID) Long ownerId) {
-        return itemService.findItemsByOwner(ownerId);
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getAvailability(
+            final @PathVariable Long itemId,
+            final @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            final @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        return itemService.getAvailability(itemId, from, to);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<ItemInfoDto>> getItemsByOwner(
+            final @RequestHeader(name = HEADER_USER_ID) Long ownerId,
+            final @RequestParam(required = false) String cursor,
+            final @RequestParam(defaultValue = "0") Integer from,
+            final @RequestParam(defaultValue = "20") Integer size
+    ) {
+        return itemService.findItemsByOwner(ownerId, cursor, from, size).toResponseEntity();
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamItemsByOwner(
+            final @RequestHeader(name = HEADER_USER_ID) Long ownerId
+    ) {
+        CursorPage<ItemInfoDto> firstPage = itemService.findItemsByOwner(ownerId, null, 0, OffsetPageRequest.MAX_SIZE);
+
+        StreamingResponseBody body = out -> {
+            CursorPage<ItemInfoDto> page = firstPage;
+
+            while (true) {
+                for (ItemInfoDto item : page.content()) {
+                    out.write(objectMapper.writeValueAsBytes(item));
+                    out.write('\n');
+                }
+
+                out.flush();
+
+                if (page.nextCursor() == null) {
+                    return;
+                }
+
+                page = itemService.findItemsByOwner(ownerId, page.nextCursor(), null, OffsetPageRequest.MAX_SIZE);
+            }
+        };
+
+        return ResponseEntity.ok()
+                             .contentType(MediaType.APPLICATION_NDJSON)
+                             .body(body);
     }
 
     @GetMapping("/search")
-    public List<ItemDto> findItemsByText(final @RequestParam String text) {
-        return itemService.findItemsByText(text);
+    public ResponseEntity<List<ItemDto>> findItemsByText(
+            final @RequestParam String text,
+            final @RequestParam(required = false) String cursor,
+            final @RequestParam(defaultValue = "0") Integer from,
+            final @RequestParam(defaultValue = "20") Integer size
+    ) {
+        return itemService.findItemsByText(text, cursor, from, size).toResponseEntity();
+    }
+
+    @GetMapping("/suggest")
+    public List<String> suggestItemNames(
+            final @RequestParam String prefix,
+            final @RequestParam(defaultValue = "10") Integer size
+    ) {
+        return itemService.suggestItemNames(prefix, size);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -2,19 +2,24 @@ package ru.practicum.shareit.item;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.contracts.ArchivedBookingRepositoryInterface;
 import ru.practicum.shareit.booking.contracts.BookingRepositoryInterface;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingView;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exception.EmptyIdException;
+import ru.practicum.shareit.exception.InvalidAvailabilityRangeException;
 import ru.practicum.shareit.exception.UserDoesNotHaveBookedItem;
+import ru.practicum.shareit.item.availability.ItemAvailabilityCache;
 import ru.practicum.shareit.item.contracts.CommentRepositoryInterface;
 import ru.practicum.shareit.item.contracts.ItemRepositoryInterface;
+import ru.practicum.shareit.item.contracts.ItemSearchEngineInterface;
 import ru.practicum.shareit.item.contracts.ItemServiceInterface;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemInfoDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -24,19 +29,31 @@ import ru.practicum.shareit.item.dto.ItemUpdateDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.CommentView;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemNameSuggester;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchCursor;
+import ru.practicum.shareit.item.search.ItemSearchHit;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+import ru.practicum.shareit.pagination.PageCursor;
 import ru.practicum.shareit.request.contracts.ItemRequestRepositoryInterface;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.contracts.UserRepositoryInterface;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 
 @Slf4j
 @Service
@@ -45,15 +62,18 @@ public class ItemService implements ItemServiceInterface {
 
     private static final String USER_NOT_FOUND = "User with id='%d' not found";
     private static final String ITEM_NOT_FOUND = "Item with id='%d' not found";
+    private static final Duration MAX_AVAILABILITY_RANGE = Duration.ofDays(366);
 
     private final ItemRepositoryInterface itemRepository;
     private final UserRepositoryInterface userRepository;
     private final CommentRepositoryInterface commentRepository;
     private final BookingRepositoryInterface bookingRepository;
+    private final ArchivedBookingRepositoryInterface archivedBookingRepository;
     private final ItemRequestRepositoryInterface itemRequestRepositoryInterface;
-
-    private final Sort commentsSort = Sort.by(Sort.Direction.DESC, "created");
-    private final Sort bookingOrder = Sort.by(Sort.Direction.ASC, "start");
+    private final ItemSearchEngineInterface itemSearchEngine;
+    private final ItemSearchCache itemSearchCache;
+    private final ItemNameSuggester itemNameSuggester;
+    private final ItemAvailabilityCache itemAvailabilityCache;
 
     @Override
     public ItemDto create(final ItemCreateDto itemDto, final Long userId) {
@@ -82,6 +102,9 @@ public class ItemService implements ItemServiceInterface {
         }
 
         Item newItem = itemRepository.save(item);
+        itemSearchEngine.index(newItem);
+        itemSearchCache.invalidate(newItem);
+        itemNameSuggester.index(newItem);
 
         return ItemMapper.toItemDto(newItem);
     }
@@ -106,6 +129,15 @@ public class ItemService implements ItemServiceInterface {
             throw new InvalidOwnerException("Owner is not the same user");
         }
 
+        Item previous = new Item(
+                item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getAvailable(),
+                item.getOwner(),
+                item.getRequest()
+        );
+
         if (itemDto.getName() != null && !itemDto.getName().isBlank()) {
             item.setName(itemDto.getName());
         }
@@ -119,6 +151,9 @@ public class ItemService implements ItemServiceInterface {
         }
 
         item = itemRepository.save(item);
+        itemSearchEngine.index(item);
+        itemSearchCache.invalidate(previous, item);
+        itemNameSuggester.index(item);
 
         return ItemMapper.toItemDto(item);
     }
@@ -132,21 +167,16 @@ public class ItemService implements ItemServiceInterface {
                 () -> new NotFoundException(ITEM_NOT_FOUND.formatted(itemId))
         );
 
-        List<Booking> bookings = Collections.emptyList();
+        List<ItemBookingView> bookings = Collections.emptyList();
+        LocalDateTime currentTime = LocalDateTime.now();
 
         if (item.getOwner().getId().equals(userId)) {
-            bookings = bookingRepository.findAllByItem_IdInAndStatus(
-                    List.of(item.getId()),
-                    BookingStatus.APPROVED,
-                    bookingOrder
-            );
+            bookings = findLastAndNextApprovedBookings(List.of(item.getId()), currentTime);
         }
 
-        LocalDateTime currentTime = LocalDateTime.now();
-
         return ItemMapper.toItemCardDto(
-                item,
-                commentRepository.findAllByItem_Id(item.getId(), commentsSort),
+                ItemMapper.toItemInfoDto(item),
+                commentRepository.findViewsByItemIdIn(List.of(item.getId())),
                 getLastBooking(bookings, currentTime),
                 getNextBooking(bookings, currentTime)
         );
@@ -154,33 +184,45 @@ public class ItemService implements ItemServiceInterface {
 
     @Override
     @Transactional(readOnly = true)
-    public List<ItemInfoDto> findItemsByOwner(final Long ownerId) {
-        log.info("Find items by owner {}", ownerId);
+    public CursorPage<ItemInfoDto> findItemsByOwner(
+            final Long ownerId,
+            final String cursor,
+            final Integer from,
+            final Integer size
+    ) {
+        log.info("Find items by owner {}, cursor {}, from {}, size {}", ownerId, cursor, from, size);
 
         User user = userRepository.findById(ownerId).orElseThrow(
                 () -> new NotFoundException(USER_NOT_FOUND.formatted(ownerId))
         );
 
-        List<Item> items = itemRepository.findAllByOwnerId(user.getId());
+        Pageable page = OffsetPageRequest.from(cursor != null ? 0 : from, size);
+        long afterId = cursor != null
+                ? PageCursor.decodeLong(PageCursor.decode(cursor, 1)[0])
+                : findOwnerItemIdBefore(user.getId(), page.getOffset());
+        List<ItemInfoDto> items = itemRepository.findAllByOwnerIdAndIdGreaterThanOrderByIdAsc(
+                user.getId(),
+                afterId,
+                page.first()
+        );
 
         if (items.isEmpty()) {
-            return Collections.emptyList();
+            return new CursorPage<>(Collections.emptyList(), null);
         }
 
-        List<Long> itemIds = items.stream().map(Item::getId).toList();
-        Map<Long, List<Comment>> comments = commentRepository
-                .findAllByItem_IdIn(itemIds, commentsSort)
-                .stream()
-                .collect(groupingBy(comment -> comment.getItem().getId(), toList()));
-
-        Map<Long, List<Booking>> bookings = bookingRepository
-                .findAllByItem_IdInAndStatus(itemIds, BookingStatus.APPROVED, bookingOrder)
+        List<Long> itemIds = items.stream().map(ItemInfoDto::getId).toList();
+        Map<Long, List<CommentView>> comments = commentRepository
+                .findViewsByItemIdIn(itemIds)
                 .stream()
-                .collect(groupingBy(booking -> booking.getItem().getId(), toList()));
+                .collect(groupingBy(CommentView::itemId, toList()));
 
         LocalDateTime curDateTime = LocalDateTime.now();
 
-        return items
+        Map<Long, List<ItemBookingView>> bookings = findLastAndNextApprovedBookings(itemIds, curDateTime)
+                .stream()
+                .collect(groupingBy(ItemBookingView::itemId, toList()));
+
+        List<ItemInfoDto> content = items
                 .stream()
                 .map(item -> ItemMapper.toItemCardDto(
                         item,
@@ -195,22 +237,67 @@ public class ItemService implements ItemServiceInterface {
                         )
                 ))
                 .toList();
+
+        return new CursorPage<>(
+                content,
+                items.size() == page.getPageSize() ? PageCursor.encode(items.getLast().getId()) : null
+        );
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ItemDto> findItemsByText(final String text) {
-        log.info("Find items by text {}", text);
+    public CursorPage<ItemDto> findItemsByText(
+            final String text,
+            final String cursor,
+            final Integer from,
+            final Integer size
+    ) {
+        log.info("Find items by text {}, cursor {}, from {}, size {}", text, cursor, from, size);
+
+        Pageable page = OffsetPageRequest.from(cursor != null ? 0 : from, size);
 
         if (text == null || text.isEmpty()) {
-            return Collections.emptyList();
+            return new CursorPage<>(Collections.emptyList(), null);
         }
 
-        return itemRepository
-                .findAllByText(text)
-                .stream()
-                .map(ItemMapper::toItemDto)
-                .toList();
+        ItemSearchCursor after = cursor == null ? ItemSearchCursor.FIRST : ItemSearchCursor.decode(cursor);
+        List<ItemSearchHit> hits = itemSearchCache.search(text, after, page);
+
+        return new CursorPage<>(
+                hits.stream().map(hit -> ItemMapper.toItemDto(hit.item())).toList(),
+                hits.size() == page.getPageSize() ? hits.getLast().toCursor().encode() : null
+        );
+    }
+
+    @Override
+    public List<String> suggestItemNames(final String prefix, final Integer size) {
+        return itemNameSuggester.suggest(prefix, OffsetPageRequest.pageSize(size));
+    }
+
+    @Override
+    public ItemAvailabilityDto getAvailability(final Long itemId, final LocalDateTime from, final LocalDateTime to) {
+        log.info("Get availability of item {} from {} to {}", itemId, from, to);
+
+        if (!from.isBefore(to)) {
+            throw new InvalidAvailabilityRangeException("'from' must be before 'to'");
+        }
+
+        if (Duration.between(from, to).compareTo(MAX_AVAILABILITY_RANGE) > 0) {
+            throw new InvalidAvailabilityRangeException(
+                    "Availability range must not exceed %d days".formatted(MAX_AVAILABILITY_RANGE.toDays())
+            );
+        }
+
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException(ITEM_NOT_FOUND.formatted(itemId));
+        }
+
+        return ItemMapper.toItemAvailabilityDto(
+                itemId,
+                from,
+                to,
+                itemAvailabilityCache.slots(itemId, from, to)
+        );
     }
 
     @Override
@@ -225,12 +312,20 @@ public class ItemService implements ItemServiceInterface {
                 () -> new NotFoundException(USER_NOT_FOUND.formatted(authorId))
         );
 
+        LocalDateTime now = LocalDateTime.now();
+
         if (
                 !bookingRepository.existsByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(
                         author.getId(),
                         item.getId(),
                         BookingStatus.APPROVED,
-                        LocalDateTime.now()
+                        now
+                )
+                && !archivedBookingRepository.existsByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(
+                        author.getId(),
+                        item.getId(),
+                        BookingStatus.APPROVED,
+                        now
                 )
         ) {
             throw new UserDoesNotHaveBookedItem("User doesn't have booked item");
@@ -247,24 +342,51 @@ public class ItemService implements ItemServiceInterface {
         return CommentMapper.toCommentDto(comment);
     }
 
-    private static Booking getNextBooking(List<Booking> bookings, LocalDateTime curDateTime) {
+    // Seeks by ids alone, so the items before the offset stay in the owner index and are never loaded
+    private long findOwnerItemIdBefore(final Long ownerId, final long offset) {
+        if (offset == 0) {
+            return 0;
+        }
+
+        List<Long> ids = itemRepository.findIdsByOwnerId(ownerId, OffsetPageRequest.from((int) offset - 1, 1));
+
+        return ids.isEmpty() ? Long.MAX_VALUE : ids.getFirst();
+    }
+
+    private List<ItemBookingView> findLastAndNextApprovedBookings(final List<Long> itemIds, final LocalDateTime now) {
+        List<ItemBookingView> bookings = new ArrayList<>(bookingRepository.findLastAndNextApprovedBookings(itemIds, now));
+        Set<Long> withLastBooking = bookings.stream()
+                                            .filter(booking -> !booking.start().isAfter(now))
+                                            .map(ItemBookingView::itemId)
+                                            .collect(toSet());
+        List<Long> withoutLastBooking = itemIds.stream().filter(id -> !withLastBooking.contains(id)).toList();
+
+        // The last booking of an item that has not been rented for a while may already be archived
+        if (!withoutLastBooking.isEmpty()) {
+            bookings.addAll(archivedBookingRepository.findLastApprovedBookings(withoutLastBooking, now));
+        }
+
+        return bookings;
+    }
+
+    private static ItemBookingView getNextBooking(List<ItemBookingView> bookings, LocalDateTime curDateTime) {
         if (bookings == null || bookings.isEmpty()) {
             return null;
         }
 
         return bookings.stream()
-                       .filter(booking -> booking.getStart().isAfter(curDateTime))
+                       .filter(booking -> booking.start().isAfter(curDateTime))
                        .findFirst()
                        .orElse(null);
     }
 
-    private static Booking getLastBooking(List<Booking> bookings, LocalDateTime curDateTime) {
+    private static ItemBookingView getLastBooking(List<ItemBookingView> bookings, LocalDateTime curDateTime) {
         if (bookings == null || bookings.isEmpty()) {
             return null;
         }
 
         return bookings.stream()
-                       .filter(booking -> !booking.getStart().isAfter(curDateTime))
+                       .filter(booking -> !booking.start().isAfter(curDateTime))
                        .reduce((a, b) -> b)
                        .orElse(null);
     }
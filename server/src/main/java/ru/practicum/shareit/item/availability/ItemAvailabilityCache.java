@@ -0,0 +1,127 @@
+package ru.practicum.shareit.item.availability;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.contracts.BookingRepositoryInterface;
+import ru.practicum.shareit.booking.model.BookingPeriod;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Component
+public class ItemAvailabilityCache {
+
+    public static final String CACHE_NAME = "itemAvailability";
+
+    private final BookingRepositoryInterface bookingRepository;
+    private final Cache<Long, ItemTimeline> cache;
+    private final Duration horizon;
+
+    public ItemAvailabilityCache(
+            final BookingRepositoryInterface bookingRepository,
+            final MeterRegistry meterRegistry,
+            @Value("${shareit.item-availability.cache.maximum-size:10000}") final long maximumSize,
+            @Value("${shareit.item-availability.cache.ttl:1h}") final Duration ttl,
+            @Value("${shareit.item-availability.cache.horizon:400d}") final Duration horizon
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.horizon = horizon;
+        this.cache = Caffeine.newBuilder()
+                             .maximumSize(maximumSize)
+                             .expireAfterAccess(ttl)
+                             .recordStats()
+                             .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public List<ItemTimeline.Slot> slots(final long itemId, final LocalDateTime from, final LocalDateTime to) {
+        ItemTimeline timeline = cache.get(itemId, id -> load(id, LocalDateTime.now()));
+
+        if (timeline.covers(from, to)) {
+            return timeline.slots(from, to);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+
+        if (!from.isBefore(windowStart(now)) && !to.isAfter(windowEnd(now))) {
+            // The cached window was loaded a while ago and has fallen behind
+            return cache.asMap()
+                        .compute(itemId, (id, cached) -> cached != null && cached.covers(from, to) ? cached : load(id, now))
+                        .slots(from, to);
+        }
+
+        ItemTimeline range = new ItemTimeline(from, to);
+        bookingRepository.findPeriodsByItemIdAndStatusInBetween(itemId, BookingStatus.BLOCKING, from, to)
+                         .forEach(period -> range.markBusy(period.start(), period.end()));
+
+        return range.slots(from, to);
+    }
+
+    public void markBusy(final long itemId, final LocalDateTime start, final LocalDateTime end) {
+        afterCommit(() -> cache.asMap().computeIfPresent(itemId, (id, timeline) -> {
+            timeline.markBusy(start, end);
+
+            return timeline;
+        }));
+    }
+
+    public void invalidate(final long itemId) {
+        afterCommit(() -> cache.invalidate(itemId));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private ItemTimeline load(final long itemId, final LocalDateTime now) {
+        LocalDateTime from = windowStart(now);
+        LocalDateTime to = windowEnd(now);
+        List<BookingPeriod> periods = bookingRepository.findPeriodsByItemIdAndStatusInBetween(
+                itemId,
+                BookingStatus.BLOCKING,
+                from,
+                to
+        );
+        ItemTimeline timeline = new ItemTimeline(from, to);
+
+        periods.forEach(period -> timeline.markBusy(period.start(), period.end()));
+        log.debug("Item availability timeline for item={} loaded from {} bookings", itemId, periods.size());
+
+        return timeline;
+    }
+
+    private static LocalDateTime windowStart(final LocalDateTime now) {
+        return now.toLocalDate().minusDays(1).atStartOfDay();
+    }
+
+    private LocalDateTime windowEnd(final LocalDateTime now) {
+        return now.plus(horizon);
+    }
+
+    private static void afterCommit(final Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+}
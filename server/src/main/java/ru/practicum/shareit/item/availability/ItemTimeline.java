@@ -0,0 +1,90 @@
+package ru.practicum.shareit.item.availability;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Busy hours of an item within a fixed window. Bookings are clipped to the window,
+ * so its size, not the bookings, bounds the memory a timeline takes.
+ */
+public class ItemTimeline {
+
+    private static final long SECONDS_PER_HOUR = 3600;
+
+    private final long origin;
+    private final long limit;
+    private final BitSet busy;
+
+    public ItemTimeline(final LocalDateTime from, final LocalDateTime to) {
+        this.origin = hourOf(from);
+        this.limit = Math.max(origin, hourAfter(to));
+        this.busy = new BitSet(Math.toIntExact(limit - origin));
+    }
+
+    public boolean covers(final LocalDateTime from, final LocalDateTime to) {
+        return hourOf(from) >= origin && hourAfter(to) <= limit;
+    }
+
+    public synchronized void markBusy(final LocalDateTime start, final LocalDateTime end) {
+        long from = Math.max(hourOf(start), origin);
+        long to = Math.min(hourAfter(end), limit);
+
+        if (to <= from) {
+            return;
+        }
+
+        busy.set(index(from), index(to));
+    }
+
+    public synchronized List<Slot> slots(final LocalDateTime from, final LocalDateTime to) {
+        if (!covers(from, to)) {
+            throw new IllegalArgumentException("Range %s - %s is outside of the timeline".formatted(from, to));
+        }
+
+        long end = hourAfter(to);
+        List<Slot> slots = new ArrayList<>();
+
+        for (long hour = hourOf(from); hour < end; ) {
+            boolean free = !busy.get(index(hour));
+            long next = Math.min(free ? nextBusy(hour) : nextFree(hour), end);
+
+            slots.add(new Slot(toDateTime(hour), toDateTime(next), free));
+            hour = next;
+        }
+
+        return slots;
+    }
+
+    private long nextBusy(final long hour) {
+        int next = busy.nextSetBit(index(hour));
+
+        return next < 0 ? limit : origin + next;
+    }
+
+    private long nextFree(final long hour) {
+        return origin + busy.nextClearBit(index(hour));
+    }
+
+    private int index(final long hour) {
+        return (int) (hour - origin);
+    }
+
+    private static long hourOf(final LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), SECONDS_PER_HOUR);
+    }
+
+    private static long hourAfter(final LocalDateTime dateTime) {
+        return Math.ceilDiv(dateTime.toEpochSecond(ZoneOffset.UTC), SECONDS_PER_HOUR);
+    }
+
+    private static LocalDateTime toDateTime(final long hour) {
+        return LocalDateTime.ofEpochSecond(hour * SECONDS_PER_HOUR, 0, ZoneOffset.UTC);
+    }
+
+    public record Slot(LocalDateTime start, LocalDateTime end, boolean free) {
+    }
+
+}
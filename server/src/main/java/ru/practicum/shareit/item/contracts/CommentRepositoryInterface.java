@@ -1,17 +1,24 @@
 package ru.practicum.shareit.item.contracts;
 
 import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.CommentView;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepositoryInterface extends JpaRepository<Comment, Long> {
 
     List<Comment> findAllByItem_Id(Long id, Sort sort);
 
-    @EntityGraph(Comment.ENTITY_GRAPH_COMMENT_ITEM)
-    List<Comment> findAllByItem_IdIn(List<Long> itemIds, Sort sort);
+    @Query(
+            "SELECT new ru.practicum.shareit.item.model.CommentView(c.item.id, c.id, c.author.name, c.text) " +
+            "FROM Comment c " +
+            "WHERE c.item.id IN :itemIds " +
+            "ORDER BY c.created DESC"
+    )
+    List<CommentView> findViewsByItemIdIn(Collection<Long> itemIds);
 
 }
@@ -1,26 +1,64 @@
 package ru.practicum.shareit.item.contracts;
 
-import org.springframework.data.jpa.repository.EntityGraph;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.item.dto.ItemInfoDto;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepositoryInterface extends JpaRepository<Item, Long> {
 
-    @EntityGraph(Item.ENTITY_GRAPH_ITEM_OWNER)
-    List<Item> findAllByOwnerId(Long ownerId);
+    String PATTERN_NAME_RANK = "CASE WHEN LOWER(i.name) LIKE :pattern ESCAPE '\\' THEN 0 ELSE 1 END";
 
+    @Query(
+            "SELECT new ru.practicum.shareit.item.dto.ItemInfoDto(i.id, i.name, i.description, i.available) " +
+            "FROM Item i " +
+            "WHERE i.owner.id = :ownerId AND i.id > :id " +
+            "ORDER BY i.id"
+    )
+    List<ItemInfoDto> findAllByOwnerIdAndIdGreaterThanOrderByIdAsc(Long ownerId, Long id, Pageable page);
+
+    @Query("SELECT i.id FROM Item i WHERE i.owner.id = :ownerId ORDER BY i.id")
+    List<Long> findIdsByOwnerId(Long ownerId, Pageable page);
+
+    // PostgreSQL serves both LIKE predicates from the partial trigram indexes; H2 has no such index and scans
     @Query(
             "SELECT i " +
             "FROM Item as i " +
             "WHERE i.available " +
-                "AND ( LOWER(i.name) LIKE LOWER(CONCAT('%', ?1, '%')) " +
-                    "OR LOWER(i.description) LIKE LOWER(CONCAT('%', ?1, '%')))"
+                "AND ( LOWER(i.name) LIKE :pattern ESCAPE '\\' " +
+                    "OR LOWER(i.description) LIKE :pattern ESCAPE '\\') " +
+                "AND ( " + PATTERN_NAME_RANK + " > :rank " +
+                    "OR (" + PATTERN_NAME_RANK + " = :rank AND i.id > :id)) " +
+            "ORDER BY " + PATTERN_NAME_RANK + ", i.id"
     )
-    List<Item> findAllByText(String text);
+    List<Item> findPageByPattern(String pattern, int rank, long id, Pageable pageable);
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT COUNT(i) > 0 FROM Item i WHERE i.id = :id")
+    boolean existsById(Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :id")
+    Optional<Item> findByIdForUpdate(Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id IN :ids ORDER BY i.id")
+    List<Item> findAllByIdInForUpdate(Collection<Long> ids);
 
     List<Item> findAllByRequest_IdOrderByIdDesc(Long id);
 
+    List<Item> findAllByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
 }
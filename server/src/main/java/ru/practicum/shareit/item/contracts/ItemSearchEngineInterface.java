@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item.contracts;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchCursor;
+import ru.practicum.shareit.item.search.ItemSearchHit;
+
+import java.util.List;
+import java.util.Set;
+
+public interface ItemSearchEngineInterface {
+
+    List<ItemSearchHit> search(String text, ItemSearchCursor after, Pageable page);
+
+    void index(Item item);
+
+    boolean matches(Item item, String text);
+
+    /**
+     * A term every item matching the text has among {@link #cacheTerms(Item)}, or null if nothing can match.
+     */
+    String cacheTerm(String text);
+
+    Set<String> cacheTerms(Item item);
+
+}
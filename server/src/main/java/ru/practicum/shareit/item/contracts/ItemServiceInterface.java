@@ -2,11 +2,14 @@ package ru.practicum.shareit.item.contracts;
 
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemInfoDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.pagination.CursorPage;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemServiceInterface {
@@ -17,9 +20,13 @@ public interface ItemServiceInterface {
 
     ItemInfoDto findItemById(Long itemId, Long userId);
 
-    List<ItemInfoDto> findItemsByOwner(Long userId);
+    CursorPage<ItemInfoDto> findItemsByOwner(Long userId, String cursor, Integer from, Integer size);
 
-    List<ItemDto> findItemsByText(String text);
+    CursorPage<ItemDto> findItemsByText(String text, String cursor, Integer from, Integer size);
+
+    List<String> suggestItemNames(String prefix, Integer size);
+
+    ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
 
     CommentDto addComment(Long itemId, Long userId, CommentCreateDto commentDto);
 
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class ItemAvailabilityDto {
+
+    private Long itemId;
+
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+
+    private List<SlotDto> slots;
+
+    public record SlotDto(LocalDateTime start, LocalDateTime end, boolean available) {
+    }
+
+}
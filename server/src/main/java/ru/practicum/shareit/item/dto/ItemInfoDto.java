@@ -3,12 +3,14 @@ package ru.practicum.shareit.item.dto;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
 @AllArgsConstructor
+@NoArgsConstructor
 @Builder
 public class ItemInfoDto {
 
@@ -26,6 +28,10 @@ public class ItemInfoDto {
 
     private BookingDto nextBooking;
 
+    public ItemInfoDto(Long id, String name, String description, Boolean available) {
+        this(id, name, description, available, List.of(), null, null);
+    }
+
     public record CommentDto(Long id, String authorName, String text) {
     }
 
@@ -1,11 +1,14 @@
 package ru.practicum.shareit.item.mapper;
 
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingView;
+import ru.practicum.shareit.item.availability.ItemTimeline;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemInfoDto;
 import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.CommentView;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 
@@ -23,27 +26,56 @@ public class ItemMapper {
         );
     }
 
-    public static ItemInfoDto toItemCardDto(Item item, List<Comment> comments, Booking lastBooking, Booking nextBooking) {
+    public static ItemInfoDto toItemInfoDto(Item item) {
         return new ItemInfoDto(
                 item.getId(),
                 item.getName(),
                 item.getDescription(),
-                item.getAvailable(),
+                item.getAvailable()
+        );
+    }
+
+    public static ItemInfoDto toItemCardDto(
+            ItemInfoDto item,
+            List<CommentView> comments,
+            ItemBookingView lastBooking,
+            ItemBookingView nextBooking
+    ) {
+        item.setComments(
                 comments == null
                         ? Collections.emptyList()
                         : comments.stream()
                                   .map(comment -> new ItemInfoDto.CommentDto(
-                                          comment.getId(),
-                                          comment.getAuthor().getName(),
-                                          comment.getText()
-                                  )).toList(),
-                lastBooking != null
-                        ? new ItemInfoDto.BookingDto(lastBooking.getId(), lastBooking.getStart(), lastBooking.getEnd())
-                        : null,
-                nextBooking != null
-                        ? new ItemInfoDto.BookingDto(nextBooking.getId(), nextBooking.getStart(), nextBooking.getEnd())
-                        : null
+                                          comment.id(),
+                                          comment.authorName(),
+                                          comment.text()
+                                  )).toList()
         );
+        item.setLastBooking(toBookingDto(lastBooking));
+        item.setNextBooking(toBookingDto(nextBooking));
+
+        return item;
     }
 
+    public static ItemAvailabilityDto toItemAvailabilityDto(
+            Long itemId,
+            LocalDateTime from,
+            LocalDateTime to,
+            List<ItemTimeline.Slot> slots
+    ) {
+        return new ItemAvailabilityDto(
+                itemId,
+                from,
+                to,
+                slots.stream()
+                     .map(slot -> new ItemAvailabilityDto.SlotDto(slot.start(), slot.end(), slot.free()))
+                     .toList()
+        );
+    }
+
+    private static ItemInfoDto.BookingDto toBookingDto(ItemBookingView booking) {
+        return booking != null
+                ? new ItemInfoDto.BookingDto(booking.id(), booking.start(), booking.end())
+                : null;
+    }
 }
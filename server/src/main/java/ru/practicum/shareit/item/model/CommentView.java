@@ -0,0 +1,4 @@
+package ru.practicum.shareit.item.model;
+
+public record CommentView(Long itemId, Long id, String authorName, String text) {
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.contracts.ItemRepositoryInterface;
+import ru.practicum.shareit.item.contracts.ItemSearchEngineInterface;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item-search.engine", havingValue = "database", matchIfMissing = true)
+public class DatabaseItemSearchEngine implements ItemSearchEngineInterface {
+
+    private final ItemRepositoryInterface itemRepository;
+
+    @Override
+    public List<ItemSearchHit> search(final String text, final ItemSearchCursor after, final Pageable page) {
+        return itemRepository.findPageByPattern(ItemSearchHit.toPattern(text), after.rank(), after.id(), page)
+                             .stream()
+                             .map(item -> ItemSearchHit.bySubstring(item, text))
+                             .toList();
+    }
+
+    @Override
+    public void index(final Item item) {
+    }
+
+    @Override
+    public boolean matches(final Item item, final String text) {
+        return ItemSearchHit.matchesSubstring(item, text);
+    }
+
+    @Override
+    public String cacheTerm(final String text) {
+        return ItemSearchHit.substringTerm(text);
+    }
+
+    @Override
+    public Set<String> cacheTerms(final Item item) {
+        return ItemSearchHit.substringTerms(item);
+    }
+
+}
@@ -0,0 +1,215 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.contracts.ItemRepositoryInterface;
+import ru.practicum.shareit.item.contracts.ItemSearchEngineInterface;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item-search.engine", havingValue = "inverted-index")
+public class InvertedIndexItemSearchEngine implements ItemSearchEngineInterface {
+
+    private final ItemRepositoryInterface itemRepository;
+
+    private final ItemTermIndex allTerms = new ItemTermIndex();
+    private final ItemTermIndex nameTerms = new ItemTermIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Value("${shareit.item-search.index.batch-size:1000}")
+    private int batchSize;
+
+    @PostConstruct
+    public void rebuild() {
+        log.info("Build item search index");
+
+        lock.writeLock().lock();
+
+        try {
+            allTerms.clear();
+            nameTerms.clear();
+
+            long lastId = 0;
+            List<Item> batch;
+
+            do {
+                batch = itemRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, Limit.of(batchSize));
+
+                for (Item item : batch) {
+                    add(item);
+                    lastId = item.getId();
+                }
+            } while (batch.size() == batchSize);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Item search index built: {} items, {} terms", allTerms.itemsCount(), allTerms.termsCount());
+    }
+
+    @Override
+    public List<ItemSearchHit> search(final String text, final ItemSearchCursor after, final Pageable page) {
+        List<RankedId> ids = findIds(text, after, page);
+
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, Item> items = itemRepository.findAllById(ids.stream().map(RankedId::id).toList())
+                                              .stream()
+                                              .filter(Item::getAvailable)
+                                              .collect(toMap(Item::getId, Function.identity()));
+
+        return ids.stream()
+                  .map(id -> items.containsKey(id.id()) ? new ItemSearchHit(items.get(id.id()), id.rank()) : null)
+                  .filter(Objects::nonNull)
+                  .toList();
+    }
+
+    @Override
+    public void index(final Item item) {
+        lock.writeLock().lock();
+
+        try {
+            allTerms.remove(item.getId());
+            nameTerms.remove(item.getId());
+            add(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean matches(final Item item, final String text) {
+        Set<String> terms = ItemTextTokenizer.tokenize(text);
+
+        if (terms.isEmpty() || item.getAvailable() == null || !item.getAvailable()) {
+            return false;
+        }
+
+        Set<String> itemTerms = ItemTextTokenizer.tokenize(item.getName());
+        itemTerms.addAll(ItemTextTokenizer.tokenize(item.getDescription()));
+
+        return itemTerms.containsAll(terms);
+    }
+
+    @Override
+    public String cacheTerm(final String text) {
+        Set<String> terms = ItemTextTokenizer.tokenize(text);
+
+        return terms.isEmpty() ? null : terms.iterator().next();
+    }
+
+    @Override
+    public Set<String> cacheTerms(final Item item) {
+        if (item.getAvailable() == null || !item.getAvailable()) {
+            return Collections.emptySet();
+        }
+
+        Set<String> terms = ItemTextTokenizer.tokenize(item.getName());
+        terms.addAll(ItemTextTokenizer.tokenize(item.getDescription()));
+
+        return terms;
+    }
+
+    List<RankedId> findIds(final String text, final ItemSearchCursor after, final Pageable page) {
+        Set<String> terms = ItemTextTokenizer.tokenize(text);
+
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+
+        try {
+            List<PostingList> lists = allTerms.postingLists(terms);
+
+            if (lists.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            List<PostingList> nameLists = nameTerms.postingLists(terms);
+            List<Long> nameMatches = new ArrayList<>();
+            List<Long> descriptionMatches = new ArrayList<>();
+            PostingList smallest = lists.getFirst();
+
+            for (int i = 0; i < smallest.size(); i++) {
+                long id = smallest.get(i);
+
+                if (!ItemTermIndex.containsInAll(lists, id)) {
+                    continue;
+                }
+
+                if (!nameLists.isEmpty() && ItemTermIndex.containsInAll(nameLists, id)) {
+                    nameMatches.add(id);
+                } else {
+                    descriptionMatches.add(id);
+                }
+            }
+
+            List<RankedId> result = new ArrayList<>(page.getPageSize());
+            long skip = page.getOffset();
+
+            for (int rank = ItemSearchHit.RANK_NAME; rank <= ItemSearchHit.RANK_DESCRIPTION; rank++) {
+                for (Long id : rank == ItemSearchHit.RANK_NAME ? nameMatches : descriptionMatches) {
+                    if (!after.isBefore(rank, id)) {
+                        continue;
+                    }
+
+                    if (skip > 0) {
+                        skip--;
+                        continue;
+                    }
+
+                    result.add(new RankedId(id, rank));
+
+                    if (result.size() == page.getPageSize()) {
+                        return result;
+                    }
+                }
+            }
+
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(final Item item) {
+        if (item.getAvailable() == null || !item.getAvailable()) {
+            return;
+        }
+
+        Set<String> name = ItemTextTokenizer.tokenize(item.getName());
+        Set<String> terms = new LinkedHashSet<>(name);
+        terms.addAll(ItemTextTokenizer.tokenize(item.getDescription()));
+
+        allTerms.add(item.getId(), terms);
+        nameTerms.add(item.getId(), name);
+    }
+
+    record RankedId(long id, int rank) {
+    }
+
+}
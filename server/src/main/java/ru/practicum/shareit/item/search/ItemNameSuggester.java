@@ -0,0 +1,108 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.contracts.ItemRepositoryInterface;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemNameSuggester {
+
+    private final ItemRepositoryInterface itemRepository;
+
+    private final ConcurrentNavigableMap<String, NameEntry> names = new ConcurrentSkipListMap<>();
+    private final Map<Long, String> itemKeys = new HashMap<>();
+
+    @Value("${shareit.item-search.index.batch-size:1000}")
+    private int batchSize;
+
+    @PostConstruct
+    public synchronized void rebuild() {
+        log.info("Build item name suggestions");
+
+        names.clear();
+        itemKeys.clear();
+
+        long lastId = 0;
+        List<Item> batch;
+
+        do {
+            batch = itemRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, Limit.of(batchSize));
+
+            for (Item item : batch) {
+                add(item);
+                lastId = item.getId();
+            }
+        } while (batch.size() == batchSize);
+
+        log.info("Item name suggestions built: {} names", names.size());
+    }
+
+    public List<String> suggest(final String prefix, final int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return Collections.emptyList();
+        }
+
+        String from = normalize(prefix);
+        List<String> result = new ArrayList<>(limit);
+
+        for (Map.Entry<String, NameEntry> entry : names.tailMap(from).entrySet()) {
+            if (!entry.getKey().startsWith(from) || result.size() == limit) {
+                break;
+            }
+
+            result.add(entry.getValue().name());
+        }
+
+        return result;
+    }
+
+    public synchronized void index(final Item item) {
+        remove(item.getId());
+        add(item);
+    }
+
+    private void add(final Item item) {
+        if (item.getAvailable() == null || !item.getAvailable() || item.getName() == null || item.getName().isBlank()) {
+            return;
+        }
+
+        String key = normalize(item.getName());
+
+        itemKeys.put(item.getId(), key);
+        names.merge(key, new NameEntry(item.getName().strip(), 1), (a, b) -> new NameEntry(a.name(), a.count() + 1));
+    }
+
+    private void remove(final long itemId) {
+        String key = itemKeys.remove(itemId);
+
+        if (key != null) {
+            names.computeIfPresent(key, (k, entry) -> entry.count() == 1
+                    ? null
+                    : new NameEntry(entry.name(), entry.count() - 1));
+        }
+    }
+
+    private static String normalize(final String name) {
+        return name.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private record NameEntry(String name, int count) {
+    }
+
+}
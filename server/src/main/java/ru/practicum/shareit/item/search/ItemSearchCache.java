@@ -0,0 +1,170 @@
+package ru.practicum.shareit.item.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.contracts.ItemRepositoryInterface;
+import ru.practicum.shareit.item.contracts.ItemSearchEngineInterface;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toMap;
+
+@Slf4j
+@Component
+public class ItemSearchCache {
+
+    public static final String CACHE_NAME = "itemSearch";
+
+    private final ItemSearchEngineInterface itemSearchEngine;
+    private final ItemRepositoryInterface itemRepository;
+    private final Cache<Key, List<CachedHit>> cache;
+    private final Map<String, Set<Key>> keysByTerm = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ItemSearchCache(
+            final ItemSearchEngineInterface itemSearchEngine,
+            final ItemRepositoryInterface itemRepository,
+            final MeterRegistry meterRegistry,
+            @Value("${shareit.item-search.cache.maximum-size:10000}") final long maximumSize,
+            @Value("${shareit.item-search.cache.ttl:60s}") final Duration ttl
+    ) {
+        this.itemSearchEngine = itemSearchEngine;
+        this.itemRepository = itemRepository;
+        this.cache = Caffeine.newBuilder()
+                             .maximumSize(maximumSize)
+                             .expireAfterWrite(ttl)
+                             .recordStats()
+                             .executor(Runnable::run)
+                             .removalListener((Key key, List<CachedHit> hits, RemovalCause cause) -> unregister(key))
+                             .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public List<ItemSearchHit> search(final String text, final ItemSearchCursor after, final Pageable page) {
+        Key key = new Key(text.toLowerCase(Locale.ROOT), after, page.getOffset(), page.getPageSize());
+        List<CachedHit> cached = cache.getIfPresent(key);
+
+        if (cached != null) {
+            return hydrate(cached);
+        }
+
+        long generation = invalidations.get();
+        List<ItemSearchHit> hits = itemSearchEngine.search(key.text(), after, page);
+        List<CachedHit> value = hits.stream().map(hit -> new CachedHit(hit.item().getId(), hit.rank())).toList();
+
+        cache.put(key, value);
+        register(key);
+
+        // An invalidation that started after the search read may have missed the entry, so it is dropped here
+        if (invalidations.get() != generation) {
+            cache.asMap().remove(key, value);
+        }
+
+        return hits;
+    }
+
+    /**
+     * Drops cached pages of the queries the given item states match. Pass the state before and after a change.
+     */
+    public void invalidate(final Item... states) {
+        invalidations.incrementAndGet();
+
+        int invalidated = 0;
+
+        for (Item item : states) {
+            for (String term : itemSearchEngine.cacheTerms(item)) {
+                Set<Key> keys = keysByTerm.get(term);
+
+                if (keys == null) {
+                    continue;
+                }
+
+                for (Key key : List.copyOf(keys)) {
+                    if (itemSearchEngine.matches(item, key.text()) && cache.asMap().remove(key) != null) {
+                        invalidated++;
+                    }
+                }
+            }
+        }
+
+        log.debug("Item search cache invalidated {} entries", invalidated);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private void register(final Key key) {
+        String term = itemSearchEngine.cacheTerm(key.text());
+
+        if (term != null) {
+            keysByTerm.compute(term, (t, keys) -> {
+                Set<Key> registered = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+                registered.add(key);
+
+                return registered;
+            });
+        }
+    }
+
+    private void unregister(final Key key) {
+        String term = itemSearchEngine.cacheTerm(key.text());
+
+        if (term != null) {
+            keysByTerm.computeIfPresent(term, (t, keys) -> {
+                // The same key may have been cached again after this removal
+                if (!cache.asMap().containsKey(key)) {
+                    keys.remove(key);
+                }
+
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    private List<ItemSearchHit> hydrate(final List<CachedHit> hits) {
+        if (hits.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, Item> items = itemRepository.findAllById(hits.stream().map(CachedHit::id).toList())
+                                              .stream()
+                                              .filter(Item::getAvailable)
+                                              .collect(toMap(Item::getId, Function.identity()));
+
+        return hits.stream()
+                   .map(hit -> items.containsKey(hit.id()) ? new ItemSearchHit(items.get(hit.id()), hit.rank()) : null)
+                   .filter(Objects::nonNull)
+                   .toList();
+    }
+
+    private record Key(String text, ItemSearchCursor after, long offset, int size) {
+    }
+
+    private record CachedHit(long id, int rank) {
+    }
+
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.pagination.PageCursor;
+
+public record ItemSearchCursor(int rank, long id) {
+
+    public static final ItemSearchCursor FIRST = new ItemSearchCursor(-1, 0);
+
+    public static ItemSearchCursor decode(String cursor) {
+        String[] parts = PageCursor.decode(cursor, 2);
+
+        return new ItemSearchCursor(
+                (int) PageCursor.decodeLong(parts[0]),
+                PageCursor.decodeLong(parts[1])
+        );
+    }
+
+    public String encode() {
+        return PageCursor.encode(rank, id);
+    }
+
+    public boolean isBefore(int hitRank, long hitId) {
+        return rank < hitRank || (rank == hitRank && id < hitId);
+    }
+
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+public record ItemSearchHit(Item item, int rank) {
+
+    public static final int RANK_NAME = 0;
+    public static final int RANK_DESCRIPTION = 1;
+
+    private static final int TERM_LENGTH = 3;
+
+    public static ItemSearchHit bySubstring(Item item, String text) {
+        String name = item.getName() == null ? "" : item.getName().toLowerCase(Locale.ROOT);
+
+        return new ItemSearchHit(
+                item,
+                name.contains(text.toLowerCase(Locale.ROOT)) ? RANK_NAME : RANK_DESCRIPTION
+        );
+    }
+
+    public static boolean matchesSubstring(Item item, String text) {
+        if (item.getAvailable() == null || !item.getAvailable()) {
+            return false;
+        }
+
+        String needle = text.toLowerCase(Locale.ROOT);
+
+        return (item.getName() != null && item.getName().toLowerCase(Locale.ROOT).contains(needle))
+                || (item.getDescription() != null && item.getDescription().toLowerCase(Locale.ROOT).contains(needle));
+    }
+
+    public static String substringTerm(String text) {
+        String needle = text.toLowerCase(Locale.ROOT);
+
+        return needle.length() > TERM_LENGTH ? needle.substring(0, TERM_LENGTH) : needle;
+    }
+
+    /**
+     * Every substring up to the term length, so the leading characters of any text the item matches are among them.
+     */
+    public static Set<String> substringTerms(Item item) {
+        Set<String> terms = new HashSet<>();
+
+        if (item.getAvailable() == null || !item.getAvailable()) {
+            return terms;
+        }
+
+        addSubstrings(terms, item.getName());
+        addSubstrings(terms, item.getDescription());
+
+        return terms;
+    }
+
+    /**
+     * LIKE pattern with the same literal substring semantics as {@link #bySubstring}, to be used with ESCAPE '\'.
+     */
+    public static String toPattern(String text) {
+        String escaped = text.toLowerCase(Locale.ROOT)
+                             .replace("\\", "\\\\")
+                             .replace("%", "\\%")
+                             .replace("_", "\\_");
+
+        return "%" + escaped + "%";
+    }
+
+    public ItemSearchCursor toCursor() {
+        return new ItemSearchCursor(rank, item.getId());
+    }
+
+    private static void addSubstrings(Set<String> terms, String text) {
+        if (text == null) {
+            return;
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+
+        for (int start = 0; start < lower.length(); start++) {
+            for (int end = start + 1; end <= Math.min(start + TERM_LENGTH, lower.length()); end++) {
+                terms.add(lower.substring(start, end));
+            }
+        }
+    }
+
+}
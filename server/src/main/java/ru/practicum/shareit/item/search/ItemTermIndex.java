@@ -0,0 +1,95 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class ItemTermIndex {
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, String[]> itemTerms = new HashMap<>();
+
+    void add(final long itemId, final Collection<String> terms) {
+        if (terms.isEmpty()) {
+            return;
+        }
+
+        String[] stored = new String[terms.size()];
+        int i = 0;
+
+        for (String term : terms) {
+            postings.computeIfAbsent(term, key -> new PostingList()).add(itemId);
+            stored[i++] = term;
+        }
+
+        itemTerms.put(itemId, stored);
+    }
+
+    void remove(final long itemId) {
+        String[] terms = itemTerms.remove(itemId);
+
+        if (terms == null) {
+            return;
+        }
+
+        for (String term : terms) {
+            PostingList list = postings.get(term);
+
+            if (list == null) {
+                continue;
+            }
+
+            list.remove(itemId);
+
+            if (list.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    List<PostingList> postingLists(final Collection<String> terms) {
+        List<PostingList> lists = new ArrayList<>(terms.size());
+
+        for (String term : terms) {
+            PostingList list = postings.get(term);
+
+            if (list == null) {
+                return Collections.emptyList();
+            }
+
+            lists.add(list);
+        }
+
+        lists.sort(Comparator.comparingInt(PostingList::size));
+
+        return lists;
+    }
+
+    static boolean containsInAll(final List<PostingList> lists, final long id) {
+        for (PostingList list : lists) {
+            if (!list.contains(id)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    void clear() {
+        postings.clear();
+        itemTerms.clear();
+    }
+
+    int itemsCount() {
+        return itemTerms.size();
+    }
+
+    int termsCount() {
+        return postings.size();
+    }
+
+}
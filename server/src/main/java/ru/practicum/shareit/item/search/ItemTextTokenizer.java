@@ -0,0 +1,61 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public class ItemTextTokenizer {
+
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private ItemTextTokenizer() {
+    }
+
+    public static Set<String> tokenize(final String text) {
+        Set<String> terms = new LinkedHashSet<>();
+
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+
+        for (String token : SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                terms.add(stem(token));
+            }
+        }
+
+        return terms;
+    }
+
+    static String stem(final String token) {
+        int length = token.length();
+
+        if (length > 4 && token.endsWith("ies")) {
+            return token.substring(0, length - 3) + "y";
+        }
+
+        if (length > 5 && token.endsWith("ing")) {
+            return token.substring(0, length - 3);
+        }
+
+        if (length > 4 && token.endsWith("ed")) {
+            return token.substring(0, length - 2);
+        }
+
+        if (
+                length > 4
+                        && token.endsWith("es")
+                        && (token.endsWith("ses") || token.endsWith("xes") || token.endsWith("ches") || token.endsWith("shes"))
+        ) {
+            return token.substring(0, length - 2);
+        }
+
+        if (length > 3 && token.endsWith("s") && !token.endsWith("ss")) {
+            return token.substring(0, length - 1);
+        }
+
+        return token;
+    }
+
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+class PostingList {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+
+    private int size;
+
+    void add(final long id) {
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size++] = id;
+            return;
+        }
+
+        int position = Arrays.binarySearch(ids, 0, size, id);
+
+        if (position >= 0) {
+            return;
+        }
+
+        int insertAt = -position - 1;
+
+        ensureCapacity();
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+    }
+
+    void remove(final long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+
+        if (position < 0) {
+            return;
+        }
+
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+    }
+
+    boolean contains(final long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    long get(final int index) {
+        return ids[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+    }
+
+}
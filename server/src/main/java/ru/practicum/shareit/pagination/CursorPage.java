@@ -0,0 +1,21 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+public record CursorPage<T>(List<T> content, String nextCursor) {
+
+    public static final String HEADER_NEXT_CURSOR = "X-Next-Cursor";
+
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+
+        if (nextCursor != null) {
+            builder.header(HEADER_NEXT_CURSOR, nextCursor);
+        }
+
+        return builder.body(content);
+    }
+
+}
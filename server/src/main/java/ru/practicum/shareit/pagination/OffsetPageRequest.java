@@ -0,0 +1,55 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.exception.InvalidPaginationException;
+
+public class OffsetPageRequest extends PageRequest {
+
+    public static final int MAX_SIZE = 100;
+
+    private final long offset;
+
+    private OffsetPageRequest(long offset, int size, Sort sort) {
+        super((int) (offset / size), size, sort);
+        this.offset = offset;
+    }
+
+    public static OffsetPageRequest from(Integer from, Integer size) {
+        return from(from, size, Sort.unsorted());
+    }
+
+    public static OffsetPageRequest from(Integer from, Integer size, Sort sort) {
+        if (from == null || from < 0) {
+            throw new InvalidPaginationException("Parameter 'from' must be positive or zero");
+        }
+
+        return new OffsetPageRequest(from, pageSize(size), sort);
+    }
+
+    public static int pageSize(Integer size) {
+        if (size == null || size <= 0) {
+            throw new InvalidPaginationException("Parameter 'size' must be positive");
+        }
+
+        return Math.min(size, MAX_SIZE);
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof OffsetPageRequest that
+                && super.equals(that)
+                && offset == that.offset;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Long.hashCode(offset);
+    }
+
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.pagination;
+
+import ru.practicum.shareit.exception.InvalidPaginationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+public class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private PageCursor() {
+    }
+
+    public static String encode(Object... parts) {
+        String raw = Arrays.stream(parts)
+                           .map(String::valueOf)
+                           .collect(Collectors.joining(SEPARATOR));
+
+        return Base64.getUrlEncoder()
+                     .withoutPadding()
+                     .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int partsCount) {
+        String raw;
+
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPaginationException("Invalid cursor");
+        }
+
+        String[] parts = raw.split("\\" + SEPARATOR, -1);
+
+        if (parts.length != partsCount) {
+            throw new InvalidPaginationException("Invalid cursor");
+        }
+
+        return parts;
+    }
+
+    public static long decodeLong(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidPaginationException("Invalid cursor");
+        }
+    }
+
+}
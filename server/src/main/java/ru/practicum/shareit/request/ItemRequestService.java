@@ -2,7 +2,6 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.contracts.ItemRepositoryInterface;
@@ -53,23 +52,16 @@ public class ItemRequestService implements ItemRequestServiceInterface {
                 () -> new NotFoundException("User not found with id: " + userId)
         );
 
-        return itemRequestRepository.findAllByRequestor_IdOrderByCreatedDesc(user.getId())
-                .stream()
-                .map(itemRequest -> ItemRequestMapper.toItemRequestResponseDto(itemRequest, null))
-                .toList();
+        return itemRequestRepository.findAllByRequestor_IdOrderByCreatedDesc(user.getId());
     }
 
     @Override
     public List<ItemRequestResponseDto> getList(final Long userId) {
         log.info("Get itemRequests with user: {}", userId);
 
-        return (
-                userId == null
-                        ? itemRequestRepository.findAll(Sort.by(Sort.Direction.DESC, "created"))
-                        : itemRequestRepository.findAllByRequestor_IdIsNotOrderByCreatedDesc(userId)
-        ).stream()
-         .map(itemRequest -> ItemRequestMapper.toItemRequestResponseDto(itemRequest, null))
-         .toList();
+        return userId == null
+                ? itemRequestRepository.findAllByOrderByCreatedDesc()
+                : itemRequestRepository.findAllByRequestor_IdIsNotOrderByCreatedDesc(userId);
     }
 
     @Override
@@ -1,14 +1,23 @@
 package ru.practicum.shareit.request.contracts;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.List;
 
 public interface ItemRequestRepositoryInterface extends JpaRepository<ItemRequest, Long> {
 
-    List<ItemRequest> findAllByRequestor_IdOrderByCreatedDesc(Long id);
+    String SELECT_RESPONSE = "SELECT new ru.practicum.shareit.request.dto.ItemRequestResponseDto(r.id, r.description, r.created) ";
 
-    List<ItemRequest> findAllByRequestor_IdIsNotOrderByCreatedDesc(Long id);
+    @Query(SELECT_RESPONSE + "FROM ItemRequest r WHERE r.requestor.id = :id ORDER BY r.created DESC")
+    List<ItemRequestResponseDto> findAllByRequestor_IdOrderByCreatedDesc(Long id);
+
+    @Query(SELECT_RESPONSE + "FROM ItemRequest r WHERE r.requestor.id <> :id ORDER BY r.created DESC")
+    List<ItemRequestResponseDto> findAllByRequestor_IdIsNotOrderByCreatedDesc(Long id);
+
+    @Query(SELECT_RESPONSE + "FROM ItemRequest r ORDER BY r.created DESC")
+    List<ItemRequestResponseDto> findAllByOrderByCreatedDesc();
 
 }
@@ -22,6 +22,10 @@ public class ItemRequestResponseDto {
 
     private List<ItemDto> items;
 
+    public ItemRequestResponseDto(Long id, String description, LocalDateTime created) {
+        this(id, description, created, List.of());
+    }
+
     public record ItemDto(Long id, String name) {
     }
 }
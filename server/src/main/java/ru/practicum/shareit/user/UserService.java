@@ -1,13 +1,17 @@
 package ru.practicum.shareit.user;
 
+import jakarta.persistence.EntityManagerFactory;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.logging.log4j.util.Strings;
+import org.hibernate.Cache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotUniqueEmailException;
 import ru.practicum.shareit.exception.EmptyIdException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.contracts.UserRepositoryInterface;
 import ru.practicum.shareit.user.contracts.UserServiceInterface;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -21,6 +25,7 @@ import ru.practicum.shareit.user.model.User;
 public class UserService implements UserServiceInterface {
 
     private final UserRepositoryInterface userRepository;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Override
     public UserDto create(final UserCreateDto dto) {
@@ -88,6 +93,12 @@ public class UserService implements UserServiceInterface {
         log.info("Deleting user by id: {}", id);
 
         userRepository.deleteById(id);
+
+        // Items and requests of the user are removed by ON DELETE CASCADE, which Hibernate never sees
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        cache.evictEntityData(Item.class);
+        cache.evictEntityData(ItemRequest.class);
+        cache.evictQueryRegions();
     }
 
 }
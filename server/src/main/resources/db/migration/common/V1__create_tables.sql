@@ -27,9 +27,11 @@ CREATE TABLE IF NOT EXISTS items
     CONSTRAINT pk_items PRIMARY KEY (id)
 );
 
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS bookings
 (
-    id         BIGINT GENERATED BY DEFAULT AS IDENTITY        NOT NULL,
+    id         BIGINT                                         NOT NULL,
     start_date TIMESTAMP WITHOUT TIME ZONE,
     end_date   TIMESTAMP WITHOUT TIME ZONE,
     item_id    BIGINT REFERENCES items (id) ON DELETE CASCADE NOT NULL,
@@ -46,4 +48,4 @@ CREATE TABLE IF NOT EXISTS comments
     author_id BIGINT REFERENCES users (id) ON DELETE CASCADE NOT NULL,
     created   TIMESTAMP WITHOUT TIME ZONE,
     CONSTRAINT pk_comments PRIMARY KEY (id)
-);
\ No newline at end of file
+);
@@ -0,0 +1,19 @@
+CREATE TABLE IF NOT EXISTS bookings_archive
+(
+    id         BIGINT                                         NOT NULL,
+    start_date TIMESTAMP WITHOUT TIME ZONE,
+    end_date   TIMESTAMP WITHOUT TIME ZONE,
+    item_id    BIGINT REFERENCES items (id) ON DELETE CASCADE NOT NULL,
+    booker_id  BIGINT REFERENCES users (id) ON DELETE CASCADE NOT NULL,
+    status     VARCHAR(255),
+    CONSTRAINT pk_bookings_archive PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS bookings_archive_booker_start_idx
+    ON bookings_archive (booker_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_archive_item_status_start_idx
+    ON bookings_archive (item_id, status, start_date);
+
+CREATE INDEX IF NOT EXISTS bookings_archive_booker_item_end_idx
+    ON bookings_archive (booker_id, item_id, end_date);
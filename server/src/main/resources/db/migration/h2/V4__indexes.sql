@@ -0,0 +1,5 @@
+CREATE INDEX IF NOT EXISTS bookings_item_status_start_idx ON bookings (item_id, status, start_date);
+CREATE INDEX IF NOT EXISTS bookings_booker_start_idx ON bookings (booker_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS bookings_booker_status_start_idx ON bookings (booker_id, status, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS bookings_booker_item_end_idx ON bookings (booker_id, item_id, end_date);
+CREATE INDEX IF NOT EXISTS items_owner_idx ON items (owner_id, id);
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS bookings_end_idx ON bookings (end_date);
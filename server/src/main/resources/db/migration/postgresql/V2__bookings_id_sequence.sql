@@ -0,0 +1,7 @@
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_seq');
+
+SELECT setval(
+    'bookings_seq',
+    GREATEST((SELECT COALESCE(MAX(id), 1) FROM bookings), (SELECT last_value FROM bookings_seq))
+);
@@ -0,0 +1,70 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Bookings made before the constraint existed may overlap, and the constraint cannot be added over them.
+-- Per item, approved bookings win over waiting ones and older bookings over newer ones; the losers are rejected.
+UPDATE bookings
+SET status = 'REJECTED'
+WHERE status IN ('WAITING', 'APPROVED')
+  AND start_date > end_date;
+
+CREATE TEMPORARY TABLE overlapping_bookings AS
+SELECT id, item_id, status, tsrange(start_date, end_date, '[)') AS period
+FROM bookings
+WHERE status IN ('WAITING', 'APPROVED')
+  AND item_id IN (
+      SELECT item_id
+      FROM (
+          SELECT item_id,
+                 COALESCE(start_date, '-infinity') AS start_date,
+                 MAX(COALESCE(end_date, 'infinity')) OVER (
+                     PARTITION BY item_id
+                     ORDER BY COALESCE(start_date, '-infinity'), id
+                     ROWS BETWEEN UNBOUNDED PRECEDING AND 1 PRECEDING
+                 ) AS previous_end
+          FROM bookings
+          WHERE status IN ('WAITING', 'APPROVED')
+      ) AS ordered
+      WHERE start_date < previous_end
+  );
+
+DO $$
+DECLARE
+    booking RECORD;
+BEGIN
+    FOR booking IN SELECT * FROM overlapping_bookings ORDER BY status = 'WAITING', id LOOP
+        IF EXISTS (
+            SELECT 1
+            FROM overlapping_bookings AS kept
+            WHERE kept.item_id = booking.item_id
+              AND kept.id <> booking.id
+              AND kept.status <> 'REJECTED'
+              AND ((kept.status = 'APPROVED' AND booking.status = 'WAITING')
+                   OR (kept.status = booking.status AND kept.id < booking.id))
+              AND kept.period && booking.period
+        ) THEN
+            UPDATE overlapping_bookings SET status = 'REJECTED' WHERE id = booking.id;
+            RAISE WARNING 'Booking % (%) overlaps another booking of item % and is rejected',
+                booking.id, booking.status, booking.item_id;
+        END IF;
+    END LOOP;
+END
+$$;
+
+UPDATE bookings
+SET status = 'REJECTED'
+FROM overlapping_bookings
+WHERE overlapping_bookings.id = bookings.id
+  AND overlapping_bookings.status = 'REJECTED';
+
+DROP TABLE overlapping_bookings;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'bookings_no_overlap') THEN
+        ALTER TABLE bookings ADD CONSTRAINT bookings_no_overlap
+            EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date, '[)') WITH &&)
+            WHERE (status IN ('WAITING', 'APPROVED'));
+    END IF;
+END
+$$;
@@ -0,0 +1,30 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS bookings_item_status_start_idx
+    ON bookings (item_id, status, start_date);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS bookings_booker_start_idx
+    ON bookings (booker_id, start_date DESC, id DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS bookings_booker_status_start_idx
+    ON bookings (booker_id, status, start_date DESC, id DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS bookings_booker_item_end_idx
+    ON bookings (booker_id, item_id, end_date);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS bookings_waiting_booker_start_idx
+    ON bookings (booker_id, start_date DESC, id DESC)
+    WHERE status = 'WAITING';
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS bookings_blocking_item_start_idx
+    ON bookings (item_id, start_date, end_date)
+    WHERE status IN ('WAITING', 'APPROVED');
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS items_owner_idx
+    ON items (owner_id, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS items_name_trgm_idx
+    ON items USING gin (LOWER(name) gin_trgm_ops)
+    WHERE is_available;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS items_description_trgm_idx
+    ON items USING gin (LOWER(description) gin_trgm_ops)
+    WHERE is_available;
@@ -0,0 +1,2 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS bookings_end_idx
+    ON bookings (end_date);
@@ -0,0 +1,126 @@
+package ru.practicum.shareit;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Runs the PostgreSQL migrations with the application's Flyway settings against a fresh database.
+ * Enable with -Dshareit.postgres.url=jdbc:postgresql://host:port/db and a user that may create databases.
+ */
+@EnabledIfSystemProperty(named = "shareit.postgres.url", matches = ".+")
+class PostgresMigrationTests {
+
+    private static final String URL = System.getProperty("shareit.postgres.url");
+    private static final String USERNAME = System.getProperty("shareit.postgres.username", "shareit");
+    private static final String PASSWORD = System.getProperty("shareit.postgres.password", "shareit");
+    private static final Duration MIGRATION_TIMEOUT = Duration.ofMinutes(1);
+
+    private final String database = "shareit_migration_" + System.nanoTime();
+
+    private SingleConnectionDataSource admin;
+    private DriverManagerDataSource dataSource;
+
+    @BeforeEach
+    void createDatabase() {
+        admin = new SingleConnectionDataSource(URL, USERNAME, PASSWORD, true);
+        new JdbcTemplate(admin).execute("CREATE DATABASE " + database);
+        dataSource = new DriverManagerDataSource(URL.replaceFirst("/[^/?]*(\\?|$)", "/" + database + "$1"), USERNAME, PASSWORD);
+    }
+
+    @AfterEach
+    void dropDatabase() {
+        new JdbcTemplate(admin).execute("DROP DATABASE IF EXISTS " + database + " WITH (FORCE)");
+        admin.destroy();
+    }
+
+    @Test
+    void migratesOverlappingBookingsAndBuildsIndexesConcurrently() throws IOException {
+        flyway("2").migrate();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (1, 'owner', 'owner@mail.net')");
+        jdbcTemplate.update("INSERT INTO items (id, name, description, owner_id) VALUES (1, 'Item', 'Description', 1)");
+        insertBooking(jdbcTemplate, 1, "2030-01-01", "2030-01-05", "APPROVED");
+        insertBooking(jdbcTemplate, 2, "2030-01-03", "2030-01-07", "APPROVED");
+        insertBooking(jdbcTemplate, 3, "2030-01-02", "2030-01-04", "WAITING");
+        insertBooking(jdbcTemplate, 4, "2030-01-05", "2030-01-06", "WAITING");
+        insertBooking(jdbcTemplate, 5, "2030-01-04", "2030-01-09", "REJECTED");
+        insertBooking(jdbcTemplate, 6, "2030-02-02", "2030-02-01", "WAITING");
+
+        // With Flyway's transactional lock CREATE INDEX CONCURRENTLY waits for the lock's own transaction forever
+        Flyway flyway = flyway(null);
+        Assertions.assertTimeoutPreemptively(MIGRATION_TIMEOUT, flyway::migrate);
+
+        Assertions.assertEquals(
+                List.of("APPROVED", "REJECTED", "REJECTED", "WAITING", "REJECTED", "REJECTED"),
+                jdbcTemplate.queryForList("SELECT status FROM bookings ORDER BY id", String.class)
+        );
+        Assertions.assertEquals(
+                1,
+                jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM pg_constraint WHERE conname = 'bookings_no_overlap'",
+                        Integer.class
+                )
+        );
+        Assertions.assertEquals(
+                List.of(),
+                jdbcTemplate.queryForList(
+                        "SELECT indexrelid::regclass::text FROM pg_index WHERE NOT indisvalid OR NOT indisready",
+                        String.class
+                )
+        );
+    }
+
+    private Flyway flyway(final String target) throws IOException {
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        String[] locations = Arrays.stream(properties.getProperty("spring.flyway.locations").split(","))
+                                   .map(location -> location.replace("{vendor}", "postgresql"))
+                                   .toArray(String[]::new);
+
+        return Flyway.configure()
+                     .dataSource(dataSource)
+                     .locations(locations)
+                     .baselineOnMigrate(Boolean.parseBoolean(properties.getProperty("spring.flyway.baseline-on-migrate")))
+                     .baselineVersion(properties.getProperty("spring.flyway.baseline-version"))
+                     .configuration(Map.of(
+                             "flyway.postgresql.transactional.lock",
+                             properties.getProperty("spring.flyway.postgresql.transactional-lock", "true")
+                     ))
+                     .target(target == null ? "latest" : target)
+                     .load();
+    }
+
+    private static void insertBooking(
+            final JdbcTemplate jdbcTemplate,
+            final long id,
+            final String start,
+            final String end,
+            final String status
+    ) {
+        jdbcTemplate.update(
+                "INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) "
+                        + "VALUES (?, ?::timestamp, ?::timestamp, 1, 1, ?)",
+                id,
+                start,
+                end,
+                status
+        );
+    }
+
+}
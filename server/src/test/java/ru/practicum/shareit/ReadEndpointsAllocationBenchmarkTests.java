@@ -0,0 +1,140 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Slf4j
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+class ReadEndpointsAllocationBenchmarkTests {
+
+    private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+    private static final int ITEMS_COUNT = 100;
+    private static final int COMMENTS_PER_ITEM = 5;
+    private static final int BOOKINGS_PER_ITEM = 20;
+    private static final int REQUESTS_COUNT = 500;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 500;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    long ownerId;
+    long bookerId;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('owner', 'owner@benchmark.net')");
+        ownerId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Long.class);
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('booker', 'booker@benchmark.net')");
+        bookerId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Long.class);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> comments = new ArrayList<>();
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> requests = new ArrayList<>();
+
+        for (int i = 0; i < ITEMS_COUNT; i++) {
+            jdbcTemplate.update(
+                    "INSERT INTO items (name, description, is_available, owner_id) VALUES (?, ?, true, ?)",
+                    "Item " + i,
+                    "Description of item " + i,
+                    ownerId
+            );
+            long itemId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM items", Long.class);
+
+            for (int j = 0; j < COMMENTS_PER_ITEM; j++) {
+                comments.add(new Object[]{"Comment " + j, itemId, bookerId, Timestamp.valueOf(now.minusDays(j))});
+            }
+
+            for (int j = 0; j < BOOKINGS_PER_ITEM; j++) {
+                LocalDateTime start = now.plusDays((j - BOOKINGS_PER_ITEM / 2) * 3L);
+
+                bookings.add(new Object[]{
+                        Timestamp.valueOf(start),
+                        Timestamp.valueOf(start.plusDays(1)),
+                        itemId,
+                        bookerId,
+                        "APPROVED"
+                });
+            }
+        }
+
+        for (int i = 0; i < REQUESTS_COUNT; i++) {
+            requests.add(new Object[]{"Request " + i, bookerId, Timestamp.valueOf(now.minusMinutes(i))});
+        }
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO comments (text, item_id, author_id, created) VALUES (?, ?, ?, ?)",
+                comments
+        );
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) VALUES (?, ?, ?, ?, ?)",
+                bookings
+        );
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO requests (description, requestor_id, created) VALUES (?, ?, ?)",
+                requests
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/items?size=100", "/bookings?size=100", "/bookings/owner?size=100", "/requests/all"})
+    void measureAllocationPerRequest(String url) throws Exception {
+        long userId = url.startsWith("/bookings?") ? bookerId : ownerId;
+
+        for (int i = 0; i < WARMUP; i++) {
+            perform(url, userId);
+        }
+
+        long allocated = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            perform(url, userId);
+        }
+
+        long nanos = System.nanoTime() - start;
+        allocated = threads.getCurrentThreadAllocatedBytes() - allocated;
+
+        log.info(
+                "GET {}: {} KB allocated/op, {} us/op",
+                url,
+                allocated / ITERATIONS / 1024,
+                nanos / ITERATIONS / 1_000
+        );
+    }
+
+    private void perform(final String url, final long userId) throws Exception {
+        mockMvc.perform(get(url).header(HEADER_USER_ID, userId)).andExpect(status().isOk());
+    }
+
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserCreateDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserUpdateDto;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class SecondLevelCacheTests {
+
+    private static final LocalDateTime NOW = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findByIdReadsUserFromCache() {
+        UserDto user = userService.create(new UserCreateDto("user", "user@mail.net"));
+
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        userService.findById(user.getId());
+        userService.findById(user.getId());
+
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(1, statistics.getDomainDataRegionStatistics("users").getHitCount());
+    }
+
+    @Test
+    void updateRefreshesCachedUser() {
+        UserDto user = userService.create(new UserCreateDto("user", "user@mail.net"));
+        userService.findById(user.getId());
+
+        userService.update(new UserUpdateDto(user.getId(), "renamed", "renamed@mail.net"));
+
+        UserDto found = userService.findById(user.getId());
+
+        Assertions.assertEquals("renamed", found.getName());
+        Assertions.assertEquals("renamed@mail.net", found.getEmail());
+    }
+
+    @Test
+    void updateRefreshesCachedItem() {
+        UserDto owner = userService.create(new UserCreateDto("owner", "owner@mail.net"));
+        ItemDto item = itemService.create(new ItemCreateDto("Item", "Description", true, null), owner.getId());
+        itemService.findItemById(item.getId(), owner.getId());
+
+        itemService.update(
+                ItemUpdateDto.builder().id(item.getId()).name("Renamed").available(false).build(),
+                owner.getId()
+        );
+
+        statistics.clear();
+
+        Assertions.assertEquals("Renamed", itemService.findItemById(item.getId(), owner.getId()).getName());
+        Assertions.assertFalse(itemService.findItemById(item.getId(), owner.getId()).getAvailable());
+        Assertions.assertEquals(0, statistics.getDomainDataRegionStatistics("items").getMissCount());
+    }
+
+    @Test
+    void itemExistenceCheckUsesQueryCache() {
+        UserDto owner = userService.create(new UserCreateDto("owner", "owner@mail.net"));
+        ItemDto item = itemService.create(new ItemCreateDto("Item", "Description", true, null), owner.getId());
+
+        itemService.getAvailability(item.getId(), NOW, NOW.plusDays(1));
+        statistics.clear();
+        itemService.getAvailability(item.getId(), NOW, NOW.plusDays(1));
+
+        Assertions.assertEquals(1, statistics.getQueryCacheHitCount());
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void deleteUserEvictsCascadedItems() {
+        UserDto owner = userService.create(new UserCreateDto("owner", "owner@mail.net"));
+        ItemDto item = itemService.create(new ItemCreateDto("Item", "Description", true, null), owner.getId());
+
+        itemService.findItemById(item.getId(), owner.getId());
+        itemService.getAvailability(item.getId(), NOW, NOW.plusDays(1));
+
+        userService.deleteById(owner.getId());
+
+        Assertions.assertThrows(NotFoundException.class, () -> userService.findById(owner.getId()));
+        Assertions.assertThrows(NotFoundException.class, () -> itemService.findItemById(item.getId(), owner.getId()));
+        Assertions.assertThrows(
+                NotFoundException.class,
+                () -> itemService.getAvailability(item.getId(), NOW, NOW.plusDays(1))
+        );
+    }
+
+    @Test
+    void cacheStatisticsArePublishedAsMetrics() {
+        UserDto user = userService.create(new UserCreateDto("user", "user@mail.net"));
+        userService.findById(user.getId());
+
+        Assertions.assertNotNull(
+                meterRegistry.find("hibernate.second.level.cache.requests").tag("region", "users").functionCounter()
+        );
+        Assertions.assertNotNull(meterRegistry.find("hibernate.cache.query.requests").functionCounter());
+    }
+
+}
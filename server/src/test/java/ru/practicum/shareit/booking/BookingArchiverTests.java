@@ -0,0 +1,237 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.contracts.ArchivedBookingRepositoryInterface;
+import ru.practicum.shareit.booking.contracts.BookingRepositoryInterface;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.BookingStatusConflictException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.contracts.ItemRepositoryInterface;
+import ru.practicum.shareit.item.dto.CommentCreateDto;
+import ru.practicum.shareit.item.dto.ItemInfoDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.user.contracts.UserRepositoryInterface;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@SpringBootTest(properties = {
+        "shareit.booking-archive.horizon=365d",
+        "shareit.booking-archive.batch-size=2"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingArchiverTests {
+
+    private static final LocalDateTime NOW = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    @Autowired
+    BookingArchiver bookingArchiver;
+
+    @Autowired
+    BookingService bookingService;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    BookingRepositoryInterface bookingRepository;
+
+    @Autowired
+    ArchivedBookingRepositoryInterface archivedBookingRepository;
+
+    @Autowired
+    ItemRepositoryInterface itemRepository;
+
+    @Autowired
+    UserRepositoryInterface userRepository;
+
+    @Test
+    void archiveMovesOnlyBookingsEndedBeforeHorizon() {
+        User owner = createUser("owner");
+        User booker = createUser("booker");
+        Item item = createItem(owner);
+
+        List<Long> old = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            old.add(createBooking(item, booker, NOW.minusDays(800 + i * 10L), 2).getId());
+        }
+
+        Booking recent = createBooking(item, booker, NOW.minusDays(30), 2);
+
+        Assertions.assertEquals(5, bookingArchiver.archive(NOW));
+
+        Assertions.assertEquals(List.of(recent.getId()), bookingRepository.findAll().stream().map(Booking::getId).toList());
+        Assertions.assertEquals(
+                old.stream().sorted().toList(),
+                archivedBookingRepository.findAll().stream().map(archived -> archived.getId()).sorted().toList()
+        );
+        Assertions.assertEquals(0, bookingArchiver.archive(NOW));
+    }
+
+    @Test
+    void getByStateIncludesArchiveOnlyWhenAsked() {
+        User owner = createUser("owner");
+        User booker = createUser("booker");
+        Item item = createItem(owner);
+
+        createBooking(item, booker, NOW.minusDays(800), 2);
+        Booking recent = createBooking(item, booker, NOW.minusDays(30), 2);
+        Booking future = createBooking(item, booker, NOW.plusDays(30), 2);
+
+        bookingArchiver.archive(NOW);
+
+        Assertions.assertEquals(
+                List.of(recent.getId()),
+                ids(bookingService.getByBookerAndState(booker.getId(), BookingState.PAST, null, 20, false))
+        );
+        Assertions.assertEquals(
+                2,
+                bookingService.getByBookerAndState(booker.getId(), BookingState.PAST, null, 20, true).content().size()
+        );
+        Assertions.assertEquals(
+                3,
+                bookingService.getByOwnerAndState(owner.getId(), BookingState.ALL, null, 20, true).content().size()
+        );
+        Assertions.assertEquals(
+                List.of(future.getId()),
+                ids(bookingService.getByBookerAndState(booker.getId(), BookingState.FUTURE, null, 20, true))
+        );
+    }
+
+    @Test
+    void getByStateWithArchivePagesInStartOrder() {
+        User owner = createUser("owner");
+        User booker = createUser("booker");
+        List<Booking> bookings = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            Item item = createItem(owner);
+
+            bookings.add(createBooking(item, booker, NOW.minusDays(700 + i * 100L), 2));
+            // Long rentals stay in the hot table although they started before some of the archived ones
+            bookings.add(createBooking(item, booker, NOW.minusDays(750 + i * 100L), 800 + i * 100));
+        }
+
+        Assertions.assertEquals(4, bookingArchiver.archive(NOW));
+
+        List<Long> expected = bookings.stream()
+                                      .sorted(Comparator.comparing(Booking::getStart).reversed())
+                                      .map(Booking::getId)
+                                      .toList();
+        List<Long> actual = new ArrayList<>();
+        String cursor = null;
+
+        do {
+            CursorPage<BookingDto> page = bookingService.getByBookerAndState(
+                    booker.getId(),
+                    BookingState.ALL,
+                    cursor,
+                    3,
+                    true
+            );
+            actual.addAll(ids(page));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @Test
+    void archivedBookingsStillCountForItems() {
+        User owner = createUser("owner");
+        User booker = createUser("booker");
+        Item item = createItem(owner);
+        Booking old = createBooking(item, booker, NOW.minusDays(800), 2);
+
+        bookingArchiver.archive(NOW);
+
+        ItemInfoDto itemInfo = itemService.findItemById(item.getId(), owner.getId());
+
+        Assertions.assertNotNull(itemInfo.getLastBooking());
+        Assertions.assertEquals(old.getId(), itemInfo.getLastBooking().id());
+        Assertions.assertDoesNotThrow(
+                () -> itemService.addComment(item.getId(), booker.getId(), new CommentCreateDto("Still works"))
+        );
+    }
+
+    @Test
+    void archivedBookingCanStillBeFetchedById() {
+        User owner = createUser("owner");
+        User booker = createUser("booker");
+        User stranger = createUser("stranger");
+        Item item = createItem(owner);
+        Booking old = createBooking(item, booker, NOW.minusDays(800), 2);
+
+        bookingArchiver.archive(NOW);
+
+        BookingDto byBooker = bookingService.getById(old.getId(), booker.getId());
+        BookingDto byOwner = bookingService.getById(old.getId(), owner.getId());
+
+        Assertions.assertEquals(old.getId(), byBooker.getId());
+        Assertions.assertEquals(item.getId(), byBooker.getItem().id());
+        Assertions.assertEquals(booker.getId(), byBooker.getBooker().id());
+        Assertions.assertEquals(old.getStart(), byBooker.getStart());
+        Assertions.assertEquals(BookingStatus.APPROVED, byBooker.getStatus());
+        Assertions.assertEquals(old.getId(), byOwner.getId());
+        Assertions.assertThrowsExactly(
+                NotFoundException.class,
+                () -> bookingService.getById(old.getId(), stranger.getId())
+        );
+    }
+
+    @Test
+    void archivedBookingCannotBeApproved() {
+        User owner = createUser("owner");
+        User booker = createUser("booker");
+        Item item = createItem(owner);
+        Booking old = createBooking(item, booker, NOW.minusDays(800), 2);
+
+        bookingArchiver.archive(NOW);
+
+        Assertions.assertThrowsExactly(
+                BookingStatusConflictException.class,
+                () -> bookingService.approve(old.getId(), owner.getId(), false)
+        );
+
+        List<BookingApprovalDto> results = bookingService.approveAll(List.of(old.getId()), owner.getId(), false);
+
+        Assertions.assertEquals(1, results.size());
+        Assertions.assertFalse(results.getFirst().isUpdated());
+        Assertions.assertEquals(BookingStatus.APPROVED, results.getFirst().getStatus());
+        Assertions.assertNotNull(results.getFirst().getError());
+    }
+
+    private static List<Long> ids(CursorPage<BookingDto> page) {
+        return page.content().stream().map(BookingDto::getId).toList();
+    }
+
+    private User createUser(String name) {
+        return userRepository.save(new User(null, name, name + System.nanoTime() + "@mail.net"));
+    }
+
+    private Item createItem(User owner) {
+        return itemRepository.save(new Item(null, "Item", "Description", true, owner, null));
+    }
+
+    private Booking createBooking(Item item, User booker, LocalDateTime start, int days) {
+        return bookingRepository.save(
+                new Booking(null, item, booker, start, start.plusDays(days), BookingStatus.APPROVED)
+        );
+    }
+
+}
@@ -8,9 +8,12 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.BookingStatusConflictException;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
@@ -21,6 +24,7 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -60,6 +64,30 @@ class BookingControllerTests {
                .andExpect(jsonPath("$.item.name").value(bookingDto.getItem().name()));
     }
 
+    @Test
+    void createBookings() throws Exception {
+        BookingDto bookingDto = makeBookingDto();
+
+        when(bookingService.createAll(Mockito.anyList(), Mockito.eq(1L)))
+                .thenReturn(List.of(bookingDto));
+
+        mockMvc.perform(
+                       post("/bookings/batch")
+                               .content(mapper.writeValueAsString(List.of(new BookingCreateDto(
+                                       bookingDto.getStart(),
+                                       bookingDto.getEnd(),
+                                       bookingDto.getItem().id(),
+                                       null
+                               ))))
+                               .header("X-Sharer-User-Id", "1")
+                               .characterEncoding(StandardCharsets.UTF_8)
+                               .contentType(MediaType.APPLICATION_JSON)
+                               .accept(MediaType.APPLICATION_JSON)
+               )
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[0].item.name").value(bookingDto.getItem().name()));
+    }
+
     @Test
     void approveBooking() throws Exception {
         BookingDto bookingDto = makeBookingDto();
@@ -78,6 +106,42 @@ class BookingControllerTests {
                .andExpect(jsonPath("$.item.name").value(bookingDto.getItem().name()));
     }
 
+    @Test
+    void approveAlreadyProcessedBooking() throws Exception {
+        when(bookingService.approve(1L, 1L, true))
+                .thenThrow(new BookingStatusConflictException("Booking with id='1' has already been processed"));
+
+        mockMvc.perform(
+                       patch("/bookings/{id}?approved={approve}", 1L, true)
+                               .header("X-Sharer-User-Id", "1")
+                               .accept(MediaType.APPLICATION_JSON)
+               )
+               .andExpect(status().isConflict());
+    }
+
+    @Test
+    void approveBookings() throws Exception {
+        when(bookingService.approveAll(List.of(1L, 2L), 1L, true))
+                .thenReturn(List.of(
+                        new BookingApprovalDto(1L, true, BookingStatus.APPROVED, null),
+                        new BookingApprovalDto(2L, false, BookingStatus.REJECTED, "Booking with id='2' has already been processed")
+                ));
+
+        mockMvc.perform(
+                       patch("/bookings/batch?approved=true")
+                               .content(mapper.writeValueAsString(List.of(1L, 2L)))
+                               .header("X-Sharer-User-Id", "1")
+                               .characterEncoding(StandardCharsets.UTF_8)
+                               .contentType(MediaType.APPLICATION_JSON)
+                               .accept(MediaType.APPLICATION_JSON)
+               )
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[0].updated").value(true))
+               .andExpect(jsonPath("$[0].status").value("APPROVED"))
+               .andExpect(jsonPath("$[1].updated").value(false))
+               .andExpect(jsonPath("$[1].error").value("Booking with id='2' has already been processed"));
+    }
+
     @Test
     void getById() throws Exception {
         BookingDto bookingDto = makeBookingDto();
@@ -100,8 +164,8 @@ class BookingControllerTests {
     void getByBookerAndState()  throws Exception {
         BookingDto bookingDto = makeBookingDto();
 
-        when(bookingService.getByBookerAndState(Mockito.anyLong(), Mockito.any()))
-                .thenReturn(List.of(bookingDto));
+        when(bookingService.getByBookerAndState(Mockito.anyLong(), Mockito.any(), Mockito.any(), Mockito.anyInt(), Mockito.anyBoolean()))
+                .thenReturn(new CursorPage<>(List.of(bookingDto), "next"));
 
         mockMvc.perform(
                        get("/bookings")
@@ -111,15 +175,16 @@ class BookingControllerTests {
                                .accept(MediaType.APPLICATION_JSON)
                )
                .andExpect(status().isOk())
-               .andExpect(jsonPath("$[0].item.name").value(bookingDto.getItem().name()));
+               .andExpect(jsonPath("$[0].item.name").value(bookingDto.getItem().name()))
+               .andExpect(header().string(CursorPage.HEADER_NEXT_CURSOR, "next"));
     }
 
     @Test
     void getByOwnerAndState()  throws Exception {
         BookingDto bookingDto = makeBookingDto();
 
-        when(bookingService.getByOwnerAndState(Mockito.anyLong(), Mockito.any()))
-                .thenReturn(List.of(bookingDto));
+        when(bookingService.getByOwnerAndState(Mockito.anyLong(), Mockito.any(), Mockito.any(), Mockito.anyInt(), Mockito.anyBoolean()))
+                .thenReturn(new CursorPage<>(List.of(bookingDto), "next"));
 
         mockMvc.perform(
                        get("/bookings/owner")
@@ -129,7 +194,8 @@ class BookingControllerTests {
                                .accept(MediaType.APPLICATION_JSON)
                )
                .andExpect(status().isOk())
-               .andExpect(jsonPath("$[0].item.name").value(bookingDto.getItem().name()));
+               .andExpect(jsonPath("$[0].item.name").value(bookingDto.getItem().name()))
+               .andExpect(header().string(CursorPage.HEADER_NEXT_CURSOR, "next"));
     }
 
     private BookingDto makeBookingDto() {
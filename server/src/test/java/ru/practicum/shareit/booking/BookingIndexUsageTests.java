@@ -0,0 +1,319 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.contracts.BookingPageRepositoryInterface;
+import ru.practicum.shareit.booking.contracts.BookingRepositoryInterface;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BookingIndexUsageTests {
+
+    private static final int USERS_COUNT = 200;
+    private static final int ITEMS_COUNT = 2_000;
+    private static final int BOOKINGS_COUNT = 20_000;
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+    private static final List<RecordedStatement> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    BookingRepositoryInterface bookingRepository;
+
+    @Autowired
+    BookingPageRepositoryInterface bookingPageRepository;
+
+    @BeforeAll
+    void seed() {
+        prepareSchema();
+
+        Random random = new Random(BOOKINGS_COUNT);
+        List<Object[]> rows = new ArrayList<>();
+
+        for (int i = 1; i <= USERS_COUNT; i++) {
+            rows.add(new Object[]{"user", "index-user" + i + "@mail.net"});
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO users (name, email) VALUES (?, ?)", rows);
+        Long firstUserId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users", Long.class);
+        rows.clear();
+
+        for (int i = 0; i < ITEMS_COUNT; i++) {
+            rows.add(new Object[]{"item", "item", firstUserId + random.nextInt(USERS_COUNT)});
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO items (name, description, owner_id) VALUES (?, ?, ?)", rows);
+        Long firstItemId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM items", Long.class);
+        rows.clear();
+
+        for (int i = 0; i < BOOKINGS_COUNT; i++) {
+            LocalDateTime start = NOW.minusYears(1).plusHours(random.nextInt(2 * 365 * 24));
+
+            rows.add(new Object[]{
+                    Timestamp.valueOf(start),
+                    Timestamp.valueOf(start.plusHours(1 + random.nextInt(72))),
+                    firstItemId + random.nextInt(ITEMS_COUNT),
+                    firstUserId + random.nextInt(USERS_COUNT),
+                    STATUSES[random.nextInt(STATUSES.length)].name()
+            });
+        }
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) VALUES (?, ?, ?, ?, ?)",
+                rows
+        );
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @ParameterizedTest
+    @MethodSource("repositoryCalls")
+    void repositoryQueryUsesIndexes(Consumer<BookingRepositoryInterface> call) {
+        assertUsesIndexes(() -> call.accept(bookingRepository));
+    }
+
+    @ParameterizedTest
+    @MethodSource("pageQueries")
+    void pageQueryUsesIndexes(Consumer<BookingPageRepositoryInterface> call) {
+        assertUsesIndexes(() -> call.accept(bookingPageRepository));
+    }
+
+    static Stream<Named<Consumer<BookingPageRepositoryInterface>>> pageQueries() {
+        Limit limit = Limit.of(20);
+        Stream.Builder<Named<Consumer<BookingPageRepositoryInterface>>> queries = Stream.builder();
+
+        for (BookingRole role : BookingRole.values()) {
+            for (BookingState state : BookingState.values()) {
+                queries.add(Named.of(role + " " + state, repository -> repository.findPage(
+                        role, state, 1L, NOW, BookingCursor.FIRST, limit
+                )));
+            }
+
+            queries.add(Named.of(role + " archived", repository -> repository.findArchivedPage(
+                    role, 1L, BookingCursor.FIRST, limit
+            )));
+        }
+
+        return queries.build();
+    }
+
+    private void assertUsesIndexes(Runnable call) {
+        STATEMENTS.clear();
+        transactionTemplate.executeWithoutResult(status -> call.run());
+
+        List<RecordedStatement> statements = List.copyOf(STATEMENTS);
+
+        Assertions.assertFalse(statements.isEmpty());
+
+        for (RecordedStatement statement : statements) {
+            String plan = explain(statement);
+
+            Assertions.assertFalse(plan.contains(tableScan()), "Sequential scan in plan:\n" + plan);
+        }
+    }
+
+    static Stream<Named<Consumer<BookingRepositoryInterface>>> repositoryCalls() {
+        Limit limit = Limit.of(20);
+        List<Long> ids = List.of(1L, 2L, 3L);
+
+        return Stream.of(
+                Named.of("findById", repository -> repository.findById(1L)),
+                Named.of("findAllWithItemByIdIn", repository -> repository.findAllWithItemByIdIn(ids)),
+                Named.of("updateStatus", repository -> repository.updateStatus(
+                        List.of(-1L), BookingStatus.WAITING, BookingStatus.APPROVED
+                )),
+                Named.of("findAllByEndBeforeForUpdate", repository -> repository.findAllByEndBeforeForUpdate(
+                        NOW.minusYears(1), limit
+                )),
+                Named.of("deleteAllByIdIn", repository -> repository.deleteAllByIdIn(List.of(-1L))),
+                Named.of(
+                        "findPeriodsByItemIdAndStatusInBetween",
+                        repository -> repository.findPeriodsByItemIdAndStatusInBetween(
+                                1L, BookingStatus.BLOCKING, NOW, NOW.plusDays(400)
+                        )
+                ),
+                Named.of(
+                        "findAllByItemIdInAndStatusInAndStartBeforeAndEndAfter",
+                        repository -> repository.findAllByItemIdInAndStatusInAndStartBeforeAndEndAfter(
+                                ids, BookingStatus.BLOCKING, NOW.plusDays(1), NOW
+                        )
+                ),
+                Named.of(
+                        "existsByItemIdAndStatusInAndStartBeforeAndEndAfter",
+                        repository -> repository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(
+                                1L, BookingStatus.BLOCKING, NOW.plusDays(1), NOW
+                        )
+                ),
+                Named.of(
+                        "existsByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore",
+                        repository -> repository.existsByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(
+                                1L, 1L, BookingStatus.APPROVED, NOW
+                        )
+                ),
+                Named.of("findLastAndNextApprovedBookings", repository -> repository.findLastAndNextApprovedBookings(
+                        ids, NOW
+                ))
+        );
+    }
+
+    String tableScan() {
+        return "tableScan";
+    }
+
+    /**
+     * H2 backs every foreign key with an implicit index, Postgres does not.
+     * Without them a missing index shows up here as a table scan, as it would in production.
+     */
+    void prepareSchema() {
+        jdbcTemplate.queryForList(
+                "SELECT table_name, constraint_name FROM information_schema.table_constraints "
+                        + "WHERE constraint_type = 'FOREIGN KEY' AND table_schema = 'PUBLIC'"
+        ).forEach(row -> jdbcTemplate.execute(
+                "ALTER TABLE %s DROP CONSTRAINT %s".formatted(row.get("TABLE_NAME"), row.get("CONSTRAINT_NAME"))
+        ));
+    }
+
+    // Planned with the values the query ran with, since a partial index only matches a predicate on known values
+    private String explain(RecordedStatement recorded) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + recorded.sql())) {
+                for (Binding binding : recorded.bindings()) {
+                    try {
+                        binding.method().invoke(statement, binding.args());
+                    } catch (ReflectiveOperationException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    StringBuilder plan = new StringBuilder();
+
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+
+                    return plan.toString();
+                }
+            }
+        });
+    }
+
+    @TestConfiguration
+    static class StatementRecorderConfig {
+
+        @Bean
+        static BeanPostProcessor statementRecorder() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new RecordingDataSource(dataSource) : bean;
+                }
+            };
+        }
+
+    }
+
+    static class RecordingDataSource extends DelegatingDataSource {
+
+        RecordingDataSource(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return recording(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return recording(super.getConnection(username, password));
+        }
+
+        private static Connection recording(Connection connection) {
+            return proxy(Connection.class, (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+
+                if (method.getName().equals("prepareStatement")) {
+                    return recording((PreparedStatement) result, (String) args[0]);
+                }
+
+                return result;
+            });
+        }
+
+        private static PreparedStatement recording(PreparedStatement statement, String sql) {
+            RecordedStatement recorded = new RecordedStatement(sql, new ArrayList<>());
+
+            return proxy(PreparedStatement.class, (proxy, method, args) -> {
+                if (method.getName().startsWith("set") && args != null && args.length > 1 && args[0] instanceof Integer) {
+                    recorded.bindings().add(new Binding(method, args));
+                } else if (method.getName().startsWith("execute")) {
+                    STATEMENTS.add(recorded);
+                }
+
+                return invoke(statement, method, args);
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+    }
+
+    record RecordedStatement(String sql, List<Binding> bindings) {
+    }
+
+    record Binding(Method method, Object[] args) {
+    }
+
+}
@@ -0,0 +1,191 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.contracts.BookingRepositoryInterface;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.contracts.ItemRepositoryInterface;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.contracts.UserRepositoryInterface;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BookingQueryBudgetTests {
+
+    private static final int BOOKINGS_COUNT = 10;
+    private static final long LIST_QUERY_BUDGET = 2;
+    private static final long GET_QUERY_BUDGET = 1;
+    private static final int BATCH_SIZE = 40;
+    private static final long BATCH_CREATE_QUERY_BUDGET = 6;
+    private static final long BATCH_APPROVE_QUERY_BUDGET = 2;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    UserRepositoryInterface userRepository;
+
+    @Autowired
+    ItemRepositoryInterface itemRepository;
+
+    @Autowired
+    BookingRepositoryInterface bookingRepository;
+
+    User owner;
+    User booker;
+    Booking booking;
+
+    @BeforeEach
+    void seed() {
+        long suffix = System.nanoTime();
+        owner = userRepository.save(new User(null, "owner", "owner" + suffix + "@mail.net"));
+        booker = userRepository.save(new User(null, "booker", "booker" + suffix + "@mail.net"));
+        LocalDateTime now = LocalDateTime.now();
+        BookingStatus[] statuses = BookingStatus.values();
+
+        for (int i = 0; i < BOOKINGS_COUNT; i++) {
+            Item item = itemRepository.save(new Item(null, "Item " + i, "Description", true, owner, null));
+            LocalDateTime start = now.plusDays(i - BOOKINGS_COUNT / 2);
+
+            booking = bookingRepository.save(new Booking(
+                    null,
+                    item,
+                    booker,
+                    start,
+                    start.plusDays(2),
+                    statuses[i % statuses.length]
+            ));
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void bookerBookingsStayWithinBudget(BookingState state) throws Exception {
+        assertWithinBudget(LIST_QUERY_BUDGET, "/bookings?state=" + state, booker);
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void ownerBookingsStayWithinBudget(BookingState state) throws Exception {
+        assertWithinBudget(LIST_QUERY_BUDGET, "/bookings/owner?state=" + state, owner);
+    }
+
+    @Test
+    void bookingByIdStaysWithinBudget() throws Exception {
+        assertWithinBudget(GET_QUERY_BUDGET, "/bookings/" + booking.getId(), booker);
+    }
+
+    @Test
+    void batchCreateStaysWithinBudget() throws Exception {
+        List<BookingCreateDto> bookings = new ArrayList<>(BATCH_SIZE);
+        LocalDateTime start = LocalDateTime.now().plusYears(1).truncatedTo(ChronoUnit.SECONDS);
+
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Item item = itemRepository.save(new Item(null, "Batch item " + i, "Description", true, owner, null));
+            bookings.add(new BookingCreateDto(start, start.plusDays(1), item.getId(), null));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(post("/bookings/batch")
+                       .header(BookingController.HEADER_USER_ID, booker.getId())
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content(objectMapper.writeValueAsString(bookings)))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.length()").value(BATCH_SIZE));
+
+        long queries = statistics.getPrepareStatementCount();
+
+        Assertions.assertTrue(
+                queries <= BATCH_CREATE_QUERY_BUDGET,
+                "Batch of %d bookings issued %d SQL statements, budget is %d".formatted(BATCH_SIZE, queries,
+                        BATCH_CREATE_QUERY_BUDGET)
+        );
+    }
+
+    @Test
+    void batchApproveStaysWithinBudget() throws Exception {
+        List<Long> ids = new ArrayList<>(BATCH_SIZE);
+        LocalDateTime start = LocalDateTime.now().plusYears(1);
+
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Item item = itemRepository.save(new Item(null, "Batch item " + i, "Description", true, owner, null));
+            ids.add(bookingRepository.save(
+                    new Booking(null, item, booker, start, start.plusDays(1), BookingStatus.WAITING)
+            ).getId());
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(patch("/bookings/batch?approved=true")
+                       .header(BookingController.HEADER_USER_ID, owner.getId())
+                       .contentType(MediaType.APPLICATION_JSON)
+                       .content(objectMapper.writeValueAsString(ids)))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].updated", everyItem(is(true))))
+               .andExpect(jsonPath("$.length()").value(BATCH_SIZE));
+
+        long queries = statistics.getPrepareStatementCount();
+
+        Assertions.assertTrue(
+                queries <= BATCH_APPROVE_QUERY_BUDGET,
+                "Approving %d bookings issued %d SQL statements, budget is %d".formatted(BATCH_SIZE, queries,
+                        BATCH_APPROVE_QUERY_BUDGET)
+        );
+    }
+
+    private void assertWithinBudget(long budget, String url, User user) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get(url).header(BookingController.HEADER_USER_ID, user.getId()))
+               .andExpect(status().isOk());
+
+        long queries = statistics.getPrepareStatementCount();
+
+        Assertions.assertTrue(
+                queries <= budget,
+                "GET %s issued %d SQL statements, budget is %d".formatted(url, queries, budget)
+        );
+    }
+
+}
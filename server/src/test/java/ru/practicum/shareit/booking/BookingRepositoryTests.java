@@ -0,0 +1,75 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.booking.contracts.BookingRepositoryInterface;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.ItemBookingView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toSet;
+
+@DataJpaTest
+class BookingRepositoryTests {
+
+    @Autowired
+    BookingRepositoryInterface repository;
+
+    @Autowired
+    TestEntityManager em;
+
+    @Test
+    void findLastAndNextApprovedBookings() {
+        LocalDateTime now = LocalDateTime.now();
+
+        User owner = new User(null, "owner", "owner@mail.net");
+        User booker = new User(null, "booker", "booker@mail.net");
+        em.persist(owner);
+        em.persist(booker);
+
+        Item first = new Item(null, "First", "Description", true, owner, null);
+        Item second = new Item(null, "Second", "Description", true, owner, null);
+        Item third = new Item(null, "Third", "Description", true, owner, null);
+        em.persist(first);
+        em.persist(second);
+        em.persist(third);
+
+        persistBooking(first, booker, now.minusDays(10), BookingStatus.APPROVED);
+        Booking firstLast = persistBooking(first, booker, now.minusDays(2), BookingStatus.APPROVED);
+        persistBooking(first, booker, now.minusDays(1), BookingStatus.REJECTED);
+        persistBooking(first, booker, now.plusHours(1), BookingStatus.WAITING);
+        Booking firstNext = persistBooking(first, booker, now.plusDays(1), BookingStatus.APPROVED);
+        persistBooking(first, booker, now.plusDays(5), BookingStatus.APPROVED);
+
+        Booking secondNext = persistBooking(second, booker, now.plusDays(3), BookingStatus.APPROVED);
+        persistBooking(second, booker, now.plusDays(4), BookingStatus.APPROVED);
+
+        persistBooking(third, booker, now.minusDays(3), BookingStatus.APPROVED);
+
+        em.flush();
+
+        Set<Long> ids = repository.findLastAndNextApprovedBookings(List.of(first.getId(), second.getId()), now)
+                                  .stream()
+                                  .map(ItemBookingView::id)
+                                  .collect(toSet());
+
+        Assertions.assertEquals(Set.of(firstLast.getId(), firstNext.getId(), secondNext.getId()), ids);
+    }
+
+    private Booking persistBooking(Item item, User booker, LocalDateTime start, BookingStatus status) {
+        Booking booking = new Booking(null, item, booker, start, start.plusHours(2), status);
+        em.persist(booking);
+
+        return booking;
+    }
+
+}
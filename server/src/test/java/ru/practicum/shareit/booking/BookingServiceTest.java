@@ -8,23 +8,40 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.booking.contracts.BookingRepositoryInterface;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
-import ru.practicum.shareit.exception.InvalidBookingStatusException;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.exception.BookingStatusConflictException;
 import ru.practicum.shareit.exception.InvalidOwnerException;
+import ru.practicum.shareit.exception.InvalidPaginationException;
 import ru.practicum.shareit.exception.ItemUnavailableException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.contracts.ItemRepositoryInterface;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.contracts.UserRepositoryInterface;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 @SpringBootTest
 @ExtendWith(MockitoExtension.class)
@@ -100,6 +117,323 @@ class BookingServiceTest {
         );
     }
 
+    @Test
+    void createOverlappingReturnThrow() {
+        User owner = createUser();
+        User booker = createUser();
+        Item item = createItem(owner);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+        BookingDto first = bookingService.create(new BookingCreateDto(start, start.plusDays(2), item.getId(), booker.getId()));
+
+        Assertions.assertThrowsExactly(
+                BookingOverlapException.class,
+                () -> bookingService.create(
+                        new BookingCreateDto(start.plusDays(1), start.plusDays(3), item.getId(), booker.getId())
+                )
+        );
+        Assertions.assertThrowsExactly(
+                BookingOverlapException.class,
+                () -> bookingService.create(
+                        new BookingCreateDto(start.minusHours(1), start.plusDays(3), item.getId(), booker.getId())
+                )
+        );
+
+        Assertions.assertNotNull(bookingService.create(
+                new BookingCreateDto(start.plusDays(2), start.plusDays(3), item.getId(), booker.getId())
+        ));
+        Assertions.assertNotNull(bookingService.create(
+                new BookingCreateDto(start, start.plusDays(2), createItem(owner).getId(), booker.getId())
+        ));
+
+        bookingService.approve(first.getId(), owner.getId(), false);
+
+        Assertions.assertNotNull(bookingService.create(
+                new BookingCreateDto(start, start.plusDays(1), item.getId(), booker.getId())
+        ));
+    }
+
+    @Test
+    void createConcurrentOverlappingAllowsOnlyOne() throws Exception {
+        User owner = createUser();
+        User booker = createUser();
+        Item item = createItem(owner);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        int threads = 8;
+        CountDownLatch ready = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+
+            for (int i = 0; i < threads; i++) {
+                LocalDateTime bookingStart = start.plusHours(i);
+
+                results.add(executor.submit(() -> {
+                    ready.countDown();
+                    ready.await();
+
+                    try {
+                        bookingService.create(new BookingCreateDto(
+                                bookingStart,
+                                bookingStart.plusDays(1),
+                                item.getId(),
+                                booker.getId()
+                        ));
+                        return true;
+                    } catch (BookingOverlapException e) {
+                        return false;
+                    }
+                }));
+            }
+
+            int created = 0;
+
+            for (Future<Boolean> result : results) {
+                created += result.get() ? 1 : 0;
+            }
+
+            Assertions.assertEquals(1, created);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void approveConcurrentlyHasOneWinnerPerBooking() throws Exception {
+        User owner = createUser();
+        User booker = createUser();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        int threads = 16;
+        int bookingsCount = 20;
+        List<Long> bookingIds = new ArrayList<>();
+
+        for (int i = 0; i < bookingsCount; i++) {
+            bookingIds.add(bookingService.create(
+                    new BookingCreateDto(start, start.plusDays(1), createItem(owner).getId(), booker.getId())
+            ).getId());
+        }
+
+        CountDownLatch ready = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Map<Long, List<BookingStatus>> winners = new ConcurrentHashMap<>();
+
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+
+            for (int i = 0; i < threads; i++) {
+                boolean approved = i % 2 == 0;
+                List<Long> ids = new ArrayList<>(bookingIds);
+                Collections.shuffle(ids, new Random(i));
+
+                results.add(executor.submit(() -> {
+                    ready.countDown();
+                    ready.await();
+
+                    int conflicts = 0;
+
+                    for (Long id : ids) {
+                        try {
+                            BookingDto booking = bookingService.approve(id, owner.getId(), approved);
+                            winners.computeIfAbsent(id, key -> new CopyOnWriteArrayList<>()).add(booking.getStatus());
+                        } catch (BookingStatusConflictException e) {
+                            conflicts++;
+                        }
+                    }
+
+                    return conflicts;
+                }));
+            }
+
+            int conflicts = 0;
+
+            for (Future<Integer> result : results) {
+                conflicts += result.get();
+            }
+
+            Assertions.assertEquals(bookingsCount * (threads - 1), conflicts);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (Long id : bookingIds) {
+            Assertions.assertEquals(1, winners.get(id).size());
+            Assertions.assertEquals(
+                    winners.get(id).getFirst(),
+                    bookingRepository.findById(id).orElseThrow().getStatus()
+            );
+        }
+    }
+
+    @Test
+    void approveAll() {
+        User owner = createUser();
+        User stranger = createUser();
+        User booker = createUser();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+        BookingDto first = bookingService.create(
+                new BookingCreateDto(start, start.plusDays(1), createItem(owner).getId(), booker.getId())
+        );
+        BookingDto second = bookingService.create(
+                new BookingCreateDto(start, start.plusDays(1), createItem(owner).getId(), booker.getId())
+        );
+        BookingDto processed = bookingService.create(
+                new BookingCreateDto(start, start.plusDays(1), createItem(owner).getId(), booker.getId())
+        );
+        BookingDto foreign = bookingService.create(
+                new BookingCreateDto(start, start.plusDays(1), createItem(stranger).getId(), booker.getId())
+        );
+        bookingService.approve(processed.getId(), owner.getId(), false);
+
+        List<BookingApprovalDto> results = bookingService.approveAll(
+                List.of(first.getId(), processed.getId(), foreign.getId(), Long.MAX_VALUE, second.getId(), first.getId()),
+                owner.getId(),
+                true
+        );
+
+        Assertions.assertEquals(
+                List.of(first.getId(), processed.getId(), foreign.getId(), Long.MAX_VALUE, second.getId()),
+                results.stream().map(BookingApprovalDto::getId).toList()
+        );
+        Assertions.assertEquals(
+                List.of(true, false, false, false, true),
+                results.stream().map(BookingApprovalDto::isUpdated).toList()
+        );
+        Assertions.assertEquals(BookingStatus.REJECTED, results.get(1).getStatus());
+        Assertions.assertEquals(BookingStatus.WAITING, results.get(2).getStatus());
+        Assertions.assertNull(results.get(3).getStatus());
+        Assertions.assertNotNull(results.get(3).getError());
+
+        Assertions.assertEquals(
+                List.of(BookingStatus.APPROVED, BookingStatus.APPROVED, BookingStatus.REJECTED, BookingStatus.WAITING),
+                Stream.of(first, second, processed, foreign)
+                      .map(booking -> bookingRepository.findById(booking.getId()).orElseThrow().getStatus())
+                      .toList()
+        );
+    }
+
+    @Test
+    void approveAllConcurrentlyHasOneWinnerPerBooking() throws Exception {
+        User owner = createUser();
+        User booker = createUser();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        int threads = 8;
+        int bookingsCount = 20;
+        List<Long> bookingIds = new ArrayList<>();
+
+        for (int i = 0; i < bookingsCount; i++) {
+            bookingIds.add(bookingService.create(
+                    new BookingCreateDto(start, start.plusDays(1), createItem(owner).getId(), booker.getId())
+            ).getId());
+        }
+
+        CountDownLatch ready = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Map<Long, List<BookingStatus>> winners = new ConcurrentHashMap<>();
+
+        try {
+            List<Future<List<BookingApprovalDto>>> results = new ArrayList<>();
+
+            for (int i = 0; i < threads; i++) {
+                boolean approved = i % 2 == 0;
+                List<Long> ids = new ArrayList<>(bookingIds);
+                Collections.shuffle(ids, new Random(i));
+
+                results.add(executor.submit(() -> {
+                    ready.countDown();
+                    ready.await();
+
+                    return bookingService.approveAll(ids, owner.getId(), approved);
+                }));
+            }
+
+            for (Future<List<BookingApprovalDto>> result : results) {
+                for (BookingApprovalDto approval : result.get()) {
+                    if (approval.isUpdated()) {
+                        winners.computeIfAbsent(approval.getId(), key -> new CopyOnWriteArrayList<>())
+                               .add(approval.getStatus());
+                    } else {
+                        Assertions.assertNotEquals(BookingStatus.WAITING, approval.getStatus());
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (Long id : bookingIds) {
+            Assertions.assertEquals(1, winners.get(id).size());
+            Assertions.assertEquals(
+                    winners.get(id).getFirst(),
+                    bookingRepository.findById(id).orElseThrow().getStatus()
+            );
+        }
+    }
+
+    @Test
+    void createAll() {
+        User owner = createUser();
+        User booker = createUser();
+        Item first = createItem(owner);
+        Item second = createItem(owner);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+        List<BookingDto> bookings = bookingService.createAll(
+                List.of(
+                        new BookingCreateDto(start, start.plusDays(1), first.getId(), null),
+                        new BookingCreateDto(start.plusDays(1), start.plusDays(2), first.getId(), null),
+                        new BookingCreateDto(start, start.plusDays(2), second.getId(), null)
+                ),
+                booker.getId()
+        );
+
+        Assertions.assertEquals(3, bookings.size());
+        Assertions.assertTrue(bookings.stream().allMatch(booking -> booking.getStatus() == BookingStatus.WAITING));
+        Assertions.assertEquals(
+                List.of(first.getId(), first.getId(), second.getId()),
+                bookings.stream().map(booking -> booking.getItem().id()).toList()
+        );
+        Assertions.assertEquals(3, bookingRepository.findAllById(
+                bookings.stream().map(BookingDto::getId).toList()
+        ).size());
+    }
+
+    @Test
+    void createAllIsAtomic() {
+        User owner = createUser();
+        User booker = createUser();
+        Item item = createItem(owner);
+        Item other = createItem(owner);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+        bookingService.create(new BookingCreateDto(start, start.plusDays(1), item.getId(), booker.getId()));
+        long count = bookingRepository.count();
+
+        Assertions.assertThrowsExactly(
+                BookingOverlapException.class,
+                () -> bookingService.createAll(List.of(
+                        new BookingCreateDto(start, start.plusDays(1), other.getId(), null),
+                        new BookingCreateDto(start.plusHours(1), start.plusDays(2), item.getId(), null)
+                ), booker.getId())
+        );
+        Assertions.assertThrowsExactly(
+                BookingOverlapException.class,
+                () -> bookingService.createAll(List.of(
+                        new BookingCreateDto(start, start.plusDays(1), other.getId(), null),
+                        new BookingCreateDto(start.plusHours(1), start.plusDays(2), other.getId(), null)
+                ), booker.getId())
+        );
+        Assertions.assertThrowsExactly(
+                NotFoundException.class,
+                () -> bookingService.createAll(List.of(
+                        new BookingCreateDto(start, start.plusDays(1), other.getId(), null),
+                        new BookingCreateDto(start, start.plusDays(1), Long.MAX_VALUE, null)
+                ), booker.getId())
+        );
+        Assertions.assertEquals(count, bookingRepository.count());
+    }
+
     @Test
     void approve() {
         User owner = createUser();
@@ -127,7 +461,7 @@ class BookingServiceTest {
     }
 
     @Test
-    void approveWithInvalidStatusReturnThrow() {
+    void approveProcessedBookingReturnConflict() {
         User owner = createUser();
         Item item = createItem(owner);
 
@@ -141,7 +475,7 @@ class BookingServiceTest {
         ));
 
         Assertions.assertThrowsExactly(
-                InvalidBookingStatusException.class,
+                BookingStatusConflictException.class,
                 () -> bookingService.approve(booking.getId(), owner.getId(), true)
         );
     }
@@ -221,27 +555,27 @@ class BookingServiceTest {
 
         Assertions.assertEquals(
                 ownerItemsCount,
-                bookingService.getByOwnerAndState(owner.getId(), BookingState.ALL).size()
+                bookingService.getByOwnerAndState(owner.getId(), BookingState.ALL, null, 20, false).content().size()
         );
         Assertions.assertEquals(
                 ownerItemsCount,
-                bookingService.getByOwnerAndState(owner.getId(), BookingState.CURRENT).size()
+                bookingService.getByOwnerAndState(owner.getId(), BookingState.CURRENT, null, 20, false).content().size()
         );
         Assertions.assertEquals(
                 0,
-                bookingService.getByOwnerAndState(owner.getId(), BookingState.REJECTED).size()
+                bookingService.getByOwnerAndState(owner.getId(), BookingState.REJECTED, null, 20, false).content().size()
         );
         Assertions.assertEquals(
                 ownerItemsCount,
-                bookingService.getByOwnerAndState(owner.getId(), BookingState.WAITING).size()
+                bookingService.getByOwnerAndState(owner.getId(), BookingState.WAITING, null, 20, false).content().size()
         );
         Assertions.assertEquals(
                 0,
-                bookingService.getByOwnerAndState(owner.getId(), BookingState.PAST).size()
+                bookingService.getByOwnerAndState(owner.getId(), BookingState.PAST, null, 20, false).content().size()
         );
         Assertions.assertEquals(
                 0,
-                bookingService.getByOwnerAndState(owner.getId(), BookingState.FUTURE).size()
+                bookingService.getByOwnerAndState(owner.getId(), BookingState.FUTURE, null, 20, false).content().size()
         );
     }
 
@@ -259,27 +593,80 @@ class BookingServiceTest {
 
         Assertions.assertEquals(
                 ownerItemsCount,
-                bookingService.getByBookerAndState(booker.getId(), BookingState.ALL).size()
+                bookingService.getByBookerAndState(booker.getId(), BookingState.ALL, null, 20, false).content().size()
         );
         Assertions.assertEquals(
                 ownerItemsCount,
-                bookingService.getByBookerAndState(booker.getId(), BookingState.CURRENT).size()
+                bookingService.getByBookerAndState(booker.getId(), BookingState.CURRENT, null, 20, false).content().size()
         );
         Assertions.assertEquals(
                 0,
-                bookingService.getByBookerAndState(booker.getId(), BookingState.REJECTED).size()
+                bookingService.getByBookerAndState(booker.getId(), BookingState.REJECTED, null, 20, false).content().size()
         );
         Assertions.assertEquals(
                 ownerItemsCount,
-                bookingService.getByBookerAndState(booker.getId(), BookingState.WAITING).size()
+                bookingService.getByBookerAndState(booker.getId(), BookingState.WAITING, null, 20, false).content().size()
         );
         Assertions.assertEquals(
                 0,
-                bookingService.getByBookerAndState(booker.getId(), BookingState.PAST).size()
+                bookingService.getByBookerAndState(booker.getId(), BookingState.PAST, null, 20, false).content().size()
         );
         Assertions.assertEquals(
                 0,
-                bookingService.getByBookerAndState(booker.getId(), BookingState.FUTURE).size()
+                bookingService.getByBookerAndState(booker.getId(), BookingState.FUTURE, null, 20, false).content().size()
+        );
+    }
+
+    @Test
+    void getByBookerAndStatePagesByCursor() {
+        User owner = createUser();
+        User booker = createUser();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        List<Long> expected = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            expected.add(bookingService.create(new BookingCreateDto(
+                    start.plusHours(i / 2),
+                    start.plusDays(1),
+                    createItem(owner).getId(),
+                    booker.getId()
+            )).getId());
+        }
+
+        expected.sort(Comparator.comparing((Long id) -> bookingRepository.findById(id).orElseThrow().getStart())
+                                .thenComparing(Comparator.naturalOrder())
+                                .reversed());
+
+        List<Long> actual = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            CursorPage<BookingDto> page = bookingService.getByBookerAndState(booker.getId(), BookingState.FUTURE, cursor, 2, false);
+            page.content().forEach(booking -> actual.add(booking.getId()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        Assertions.assertEquals(expected, actual);
+        Assertions.assertEquals(3, pages);
+        Assertions.assertEquals(
+                expected.subList(0, 2),
+                bookingService.getByOwnerAndState(owner.getId(), BookingState.ALL, null, 2, false)
+                              .content()
+                              .stream()
+                              .map(BookingDto::getId)
+                              .toList()
+        );
+    }
+
+    @Test
+    void getByBookerAndStateWithInvalidCursor() {
+        User booker = createUser();
+
+        Assertions.assertThrowsExactly(
+                InvalidPaginationException.class,
+                () -> bookingService.getByBookerAndState(booker.getId(), BookingState.ALL, "bad cursor", 2, false)
         );
     }
 
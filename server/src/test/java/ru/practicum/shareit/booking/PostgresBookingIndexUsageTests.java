@@ -0,0 +1,66 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.function.Consumer;
+
+/**
+ * The index usage checks against the PostgreSQL migrations, whose partial indexes H2 has no counterpart for.
+ * Enable with -Dshareit.postgres.url=jdbc:postgresql://host:port/db and a user that may create databases.
+ */
+@EnabledIfSystemProperty(named = "shareit.postgres.url", matches = ".+")
+@Import(BookingIndexUsageTests.StatementRecorderConfig.class)
+class PostgresBookingIndexUsageTests extends BookingIndexUsageTests {
+
+    private static final String URL = System.getProperty("shareit.postgres.url");
+    private static final String USERNAME = System.getProperty("shareit.postgres.username", "shareit");
+    private static final String PASSWORD = System.getProperty("shareit.postgres.password", "shareit");
+    private static final String DATABASE = "shareit_index_usage_" + System.nanoTime();
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        admin(jdbcTemplate -> jdbcTemplate.execute("CREATE DATABASE " + DATABASE));
+
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.url", () -> URL.replaceFirst("/[^/?]*(\\?|$)", "/" + DATABASE + "$1"));
+        registry.add("spring.datasource.username", () -> USERNAME);
+        registry.add("spring.datasource.password", () -> PASSWORD);
+    }
+
+    @AfterAll
+    void dropDatabase() {
+        admin(jdbcTemplate -> jdbcTemplate.execute("DROP DATABASE IF EXISTS " + DATABASE + " WITH (FORCE)"));
+    }
+
+    // The seeded users and items take a few pages, which Postgres rightly reads whole; the indexes are for bookings
+    @Override
+    String tableScan() {
+        return "Seq Scan on bookings ";
+    }
+
+    /**
+     * The seeded bookings overlap at random, which the exclusion constraint rejects.
+     * Its GiST index goes with it, so the plans have to hold on the B-tree indexes alone.
+     */
+    @Override
+    void prepareSchema() {
+        jdbcTemplate.execute("ALTER TABLE bookings DROP CONSTRAINT bookings_no_overlap");
+    }
+
+    private static void admin(Consumer<JdbcTemplate> action) {
+        SingleConnectionDataSource admin = new SingleConnectionDataSource(URL, USERNAME, PASSWORD, true);
+
+        try {
+            action.accept(new JdbcTemplate(admin));
+        } finally {
+            admin.destroy();
+        }
+    }
+
+}
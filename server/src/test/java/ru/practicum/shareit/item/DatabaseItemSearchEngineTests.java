@@ -0,0 +1,63 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.contracts.ItemSearchEngineInterface;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.search.DatabaseItemSearchEngine;
+import ru.practicum.shareit.user.contracts.UserRepositoryInterface;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+@SpringBootTest(properties = "shareit.item-search.engine=database")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class DatabaseItemSearchEngineTests {
+
+    @Autowired
+    ItemSearchEngineInterface engine;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    UserRepositoryInterface userRepository;
+
+    @Test
+    void engineIsSelectedByProperty() {
+        Assertions.assertInstanceOf(DatabaseItemSearchEngine.class, engine);
+    }
+
+    @Test
+    void searchKeepsSubstringSemantics() {
+        User owner = userRepository.save(new User(null, "owner", "owner@yandex.net"));
+        ItemDto drill = itemService.create(new ItemCreateDto("Аккумуляторная дрель", "С зарядкой", true, null), owner.getId());
+        itemService.create(new ItemCreateDto("Дрель", "Простая дрель", false, null), owner.getId());
+
+        List<ItemDto> res = search("дрЕль");
+
+        Assertions.assertEquals(1, res.size());
+        Assertions.assertEquals(drill.getId(), res.getFirst().getId());
+        Assertions.assertEquals(1, search("ккумулятор").size());
+    }
+
+    @Test
+    void searchEscapesWildcards() {
+        User owner = userRepository.save(new User(null, "owner", "owner@yandex.net"));
+        itemService.create(new ItemCreateDto("Battery 100%", "Charged", true, null), owner.getId());
+        itemService.create(new ItemCreateDto("Battery 1000", "Spare", true, null), owner.getId());
+
+        Assertions.assertEquals(1, search("100%").size());
+        Assertions.assertEquals(0, search("battery_").size());
+        Assertions.assertEquals(2, search("battery").size());
+    }
+
+    private List<ItemDto> search(String text) {
+        return itemService.findItemsByText(text, null, 0, 20).content();
+    }
+
+}
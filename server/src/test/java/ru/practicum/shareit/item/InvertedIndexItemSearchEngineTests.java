@@ -0,0 +1,162 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.exception.InvalidPaginationException;
+import ru.practicum.shareit.item.contracts.ItemRepositoryInterface;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.InvertedIndexItemSearchEngine;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.user.contracts.UserRepositoryInterface;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.Random;
+
+@SpringBootTest(properties = {
+        "shareit.item-search.engine=inverted-index",
+        "shareit.item-search.index.batch-size=2"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class InvertedIndexItemSearchEngineTests {
+
+    @Autowired
+    InvertedIndexItemSearchEngine engine;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ItemRepositoryInterface itemRepository;
+
+    @Autowired
+    UserRepositoryInterface userRepository;
+
+    @Test
+    void searchMatchesAllTerms() {
+        User owner = createUser();
+        ItemDto drill = itemService.create(makeItemCreateDto("Cordless drill", "Battery powered", true), owner.getId());
+        itemService.create(makeItemCreateDto("Hammer drill", "Corded", true), owner.getId());
+
+        List<ItemDto> res = search("DRILL cordless");
+
+        Assertions.assertEquals(1, res.size());
+        Assertions.assertEquals(drill.getId(), res.getFirst().getId());
+    }
+
+    @Test
+    void searchUsesStemming() {
+        User owner = createUser();
+        itemService.create(makeItemCreateDto("Drill", "Drilling holes in batteries", true), owner.getId());
+
+        Assertions.assertEquals(1, search("drills").size());
+        Assertions.assertEquals(1, search("battery").size());
+        Assertions.assertEquals(1, search("drilled hole").size());
+    }
+
+    @Test
+    void searchSkipsUnavailableItems() {
+        User owner = createUser();
+        ItemDto item = itemService.create(makeItemCreateDto("Ladder", "Tall ladder", false), owner.getId());
+
+        Assertions.assertTrue(search("ladder").isEmpty());
+
+        itemService.update(new ItemUpdateDto(item.getId(), null, null, true), owner.getId());
+
+        Assertions.assertEquals(1, search("ladder").size());
+
+        itemService.update(new ItemUpdateDto(item.getId(), "Stool", null, null), owner.getId());
+
+        Assertions.assertEquals(1, search("ladder").size());
+        Assertions.assertEquals(1, search("stool").size());
+
+        itemService.update(new ItemUpdateDto(item.getId(), null, null, false), owner.getId());
+
+        Assertions.assertTrue(search("stool").isEmpty());
+    }
+
+    @Test
+    void rebuildLoadsItemsFromDatabase() {
+        User owner = createUser();
+
+        for (int i = 0; i < 5; i++) {
+            itemRepository.save(new Item(null, "Saw #" + i, "Hand saw", true, owner, null));
+        }
+
+        Assertions.assertTrue(search("saw").isEmpty());
+
+        engine.rebuild();
+
+        Assertions.assertEquals(5, search("hand saw").size());
+    }
+
+    @Test
+    void searchWithoutTermsReturnEmpty() {
+        User owner = createUser();
+        itemService.create(makeItemCreateDto("Tent", "Camping tent", true), owner.getId());
+
+        Assertions.assertTrue(search("  ,. ").isEmpty());
+        Assertions.assertTrue(search("tent unknown").isEmpty());
+    }
+
+    @Test
+    void searchRanksNameMatchesAndPagesByCursor() {
+        User owner = createUser();
+        ItemDto descriptionHit = itemService.create(makeItemCreateDto("Hammer", "Drill bits", true), owner.getId());
+        ItemDto firstNameHit = itemService.create(makeItemCreateDto("Drill", "Cordless", true), owner.getId());
+        ItemDto secondNameHit = itemService.create(makeItemCreateDto("Hammer drill", "Heavy", true), owner.getId());
+
+        CursorPage<ItemDto> firstPage = itemService.findItemsByText("drill", null, 0, 2);
+
+        Assertions.assertEquals(
+                List.of(firstNameHit.getId(), secondNameHit.getId()),
+                firstPage.content().stream().map(ItemDto::getId).toList()
+        );
+        Assertions.assertNotNull(firstPage.nextCursor());
+
+        CursorPage<ItemDto> secondPage = itemService.findItemsByText("drill", firstPage.nextCursor(), null, 2);
+
+        Assertions.assertEquals(
+                List.of(descriptionHit.getId()),
+                secondPage.content().stream().map(ItemDto::getId).toList()
+        );
+        Assertions.assertNull(secondPage.nextCursor());
+        Assertions.assertEquals(
+                List.of(secondNameHit.getId(), descriptionHit.getId()),
+                itemService.findItemsByText("drill", null, 1, 2).content().stream().map(ItemDto::getId).toList()
+        );
+    }
+
+    @Test
+    void searchWithInvalidCursor() {
+        Assertions.assertThrows(
+                InvalidPaginationException.class,
+                () -> itemService.findItemsByText("drill", "not a cursor", null, 2)
+        );
+    }
+
+    private List<ItemDto> search(String text) {
+        return itemService.findItemsByText(text, null, 0, 20).content();
+    }
+
+    private User createUser() {
+        Random random = new Random();
+
+        return userRepository.save(new User(
+                null,
+                "user name #" + random.nextInt(),
+                "user" + random.nextInt() + "@yandex.net"
+        ));
+    }
+
+    private ItemCreateDto makeItemCreateDto(String name, String description, boolean available) {
+        return new ItemCreateDto(name, description, available, null);
+    }
+
+}
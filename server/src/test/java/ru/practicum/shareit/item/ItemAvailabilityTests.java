@@ -0,0 +1,204 @@
+package ru.practicum.shareit.item;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.exception.InvalidAvailabilityRangeException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.availability.ItemTimeline;
+import ru.practicum.shareit.item.contracts.ItemRepositoryInterface;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.contracts.UserRepositoryInterface;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Random;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ItemAvailabilityTests {
+
+    private static final LocalDateTime DAY = LocalDateTime.now().plusDays(10).truncatedTo(ChronoUnit.DAYS);
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    BookingService bookingService;
+
+    @Autowired
+    ItemRepositoryInterface itemRepository;
+
+    @Autowired
+    UserRepositoryInterface userRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void timelineRoundsBookingsOutToWholeHours() {
+        ItemTimeline timeline = new ItemTimeline(DAY, DAY.plusDays(1));
+        timeline.markBusy(DAY.plusHours(5).plusMinutes(30), DAY.plusHours(7).plusMinutes(10));
+        timeline.markBusy(DAY.plusHours(1), DAY.plusHours(2));
+
+        Assertions.assertEquals(
+                List.of(
+                        new ItemTimeline.Slot(DAY, DAY.plusHours(1), true),
+                        new ItemTimeline.Slot(DAY.plusHours(1), DAY.plusHours(2), false),
+                        new ItemTimeline.Slot(DAY.plusHours(2), DAY.plusHours(5), true),
+                        new ItemTimeline.Slot(DAY.plusHours(5), DAY.plusHours(8), false),
+                        new ItemTimeline.Slot(DAY.plusHours(8), DAY.plusHours(12), true)
+                ),
+                timeline.slots(DAY, DAY.plusHours(12))
+        );
+    }
+
+    @Test
+    void emptyTimelineIsOneFreeSlot() {
+        Assertions.assertEquals(
+                List.of(new ItemTimeline.Slot(DAY, DAY.plusDays(1), true)),
+                new ItemTimeline(DAY, DAY.plusDays(1)).slots(DAY, DAY.plusDays(1))
+        );
+    }
+
+    @Test
+    void availabilityFollowsBookingLifecycle() {
+        User owner = createUser();
+        User booker = createUser();
+        Item item = createItem(owner);
+
+        BookingDto waiting = book(item, booker, DAY.plusHours(2), DAY.plusHours(4));
+        bookingService.approve(book(item, booker, DAY.plusHours(6), DAY.plusHours(7)).getId(), owner.getId(), true);
+
+        Assertions.assertEquals(
+                List.of(true, false, true, false, true),
+                availableFlags(item)
+        );
+
+        book(item, booker, DAY.plusHours(4), DAY.plusHours(6));
+
+        Assertions.assertEquals(List.of(true, false, true), availableFlags(item));
+
+        bookingService.approve(waiting.getId(), owner.getId(), false);
+
+        Assertions.assertEquals(List.of(true, false, true), availableFlags(item));
+        Assertions.assertEquals(
+                DAY.plusHours(4),
+                itemService.getAvailability(item.getId(), DAY, DAY.plusDays(1)).getSlots().get(1).start()
+        );
+    }
+
+    @Test
+    void cachedTimelineDoesNotQueryBookings() {
+        User owner = createUser();
+        User booker = createUser();
+        Item item = createItem(owner);
+        book(item, booker, DAY.plusHours(2), DAY.plusHours(4));
+
+        itemService.getAvailability(item.getId(), DAY, DAY.plusDays(1));
+        book(item, booker, DAY.plusHours(8), DAY.plusHours(9));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Assertions.assertEquals(List.of(true, false, true, false, true), availableFlags(item));
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void timelineClipsBookingsToItsWindow() {
+        ItemTimeline timeline = new ItemTimeline(DAY, DAY.plusDays(1));
+        timeline.markBusy(DAY.minusYears(1), DAY.plusHours(2));
+        timeline.markBusy(DAY.plusHours(20), LocalDateTime.of(9999, 12, 31, 23, 0));
+
+        Assertions.assertEquals(
+                List.of(
+                        new ItemTimeline.Slot(DAY, DAY.plusHours(2), false),
+                        new ItemTimeline.Slot(DAY.plusHours(2), DAY.plusHours(20), true),
+                        new ItemTimeline.Slot(DAY.plusHours(20), DAY.plusDays(1), false)
+                ),
+                timeline.slots(DAY, DAY.plusDays(1))
+        );
+        Assertions.assertFalse(timeline.covers(DAY, DAY.plusDays(2)));
+    }
+
+    @Test
+    void farFutureBookingDoesNotBreakAvailability() {
+        User owner = createUser();
+        User booker = createUser();
+        Item item = createItem(owner);
+        LocalDateTime farFuture = LocalDateTime.of(9998, 1, 1, 0, 0);
+        book(item, booker, DAY.plusHours(2), LocalDateTime.of(9999, 1, 1, 0, 0));
+
+        Assertions.assertEquals(List.of(true, false), availableFlags(item));
+        Assertions.assertEquals(List.of(false), availableFlags(item, farFuture, farFuture.plusDays(1)));
+    }
+
+    @Test
+    void rangeOutsideCachedWindowIsReadFromBookings() {
+        User owner = createUser();
+        User booker = createUser();
+        Item item = createItem(owner);
+        LocalDateTime later = DAY.plusYears(2);
+        book(item, booker, later.plusHours(2), later.plusHours(4));
+
+        Assertions.assertEquals(List.of(true), availableFlags(item));
+        Assertions.assertEquals(List.of(true, false, true), availableFlags(item, later, later.plusDays(1)));
+    }
+
+    @Test
+    void invalidRangeReturnThrow() {
+        Item item = createItem(createUser());
+
+        Assertions.assertThrowsExactly(
+                InvalidAvailabilityRangeException.class,
+                () -> itemService.getAvailability(item.getId(), DAY, DAY)
+        );
+        Assertions.assertThrowsExactly(
+                InvalidAvailabilityRangeException.class,
+                () -> itemService.getAvailability(item.getId(), DAY, DAY.plusYears(2))
+        );
+        Assertions.assertThrowsExactly(
+                NotFoundException.class,
+                () -> itemService.getAvailability(Long.MAX_VALUE, DAY, DAY.plusDays(1))
+        );
+    }
+
+    private List<Boolean> availableFlags(Item item) {
+        return availableFlags(item, DAY, DAY.plusDays(1));
+    }
+
+    private List<Boolean> availableFlags(Item item, LocalDateTime from, LocalDateTime to) {
+        ItemAvailabilityDto availability = itemService.getAvailability(item.getId(), from, to);
+
+        return availability.getSlots().stream().map(ItemAvailabilityDto.SlotDto::available).toList();
+    }
+
+    private BookingDto book(Item item, User booker, LocalDateTime start, LocalDateTime end) {
+        return bookingService.create(new BookingCreateDto(start, end, item.getId(), booker.getId()));
+    }
+
+    private User createUser() {
+        long id = new Random().nextLong();
+
+        return userRepository.save(new User(null, "user name #" + id, "user" + id + "@yandex.net"));
+    }
+
+    private Item createItem(User owner) {
+        long id = new Random().nextLong();
+
+        return itemRepository.save(new Item(null, "name #" + id, "description " + id, true, owner, null));
+    }
+
+}
@@ -0,0 +1,170 @@
+package ru.practicum.shareit.item;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.contracts.BookingRepositoryInterface;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.ItemBookingView;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static java.util.stream.Collectors.toSet;
+
+@Slf4j
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+class ItemBookingsBenchmarkTests {
+
+    private static final int ITEMS_COUNT = 5;
+    private static final int INSERT_BATCH = 10_000;
+    private static final int ITERATIONS = 10;
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    BookingRepositoryInterface bookingRepository;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 50_000})
+    void compareLoadingAllBookingsWithTopOneQuery(int bookingsPerItem) {
+        List<Long> itemIds = seed(bookingsPerItem);
+        LocalDateTime now = LocalDateTime.now();
+
+        long allNanos = measure(() -> lastAndNextFromAll(itemIds, now));
+        long topNanos = measure(() -> lastAndNext(itemIds, now));
+
+        log.info(
+                "Last/next booking for {} items with {} bookings each: all bookings {} ms/op, top-1 query {} ms/op",
+                ITEMS_COUNT,
+                bookingsPerItem,
+                allNanos / ITERATIONS / 1_000_000,
+                topNanos / ITERATIONS / 1_000_000
+        );
+
+        Assertions.assertEquals(lastAndNextFromAll(itemIds, now), lastAndNext(itemIds, now));
+    }
+
+    private Set<Long> lastAndNextFromAll(final List<Long> itemIds, final LocalDateTime now) {
+        return transactionTemplate.execute(status -> {
+            List<Booking> bookings = entityManager.createQuery(
+                            "SELECT b FROM Booking b JOIN FETCH b.item "
+                                    + "WHERE b.item.id IN :itemIds AND b.status = :status "
+                                    + "ORDER BY b.start, b.id",
+                            Booking.class
+                    )
+                    .setParameter("itemIds", itemIds)
+                    .setParameter("status", BookingStatus.APPROVED)
+                    .getResultList();
+
+            Set<Long> result = itemIds.stream()
+                                      .map(id -> bookings.stream()
+                                                         .filter(b -> b.getItem().getId().equals(id))
+                                                         .filter(b -> !b.getStart().isAfter(now))
+                                                         .reduce((a, b) -> b)
+                                                         .map(Booking::getId)
+                                                         .orElse(null))
+                                      .collect(toSet());
+
+            itemIds.forEach(id -> bookings.stream()
+                                          .filter(b -> b.getItem().getId().equals(id))
+                                          .filter(b -> b.getStart().isAfter(now))
+                                          .findFirst()
+                                          .ifPresent(b -> result.add(b.getId())));
+            result.remove(null);
+
+            return result;
+        });
+    }
+
+    private Set<Long> lastAndNext(final List<Long> itemIds, final LocalDateTime now) {
+        return transactionTemplate.execute(status -> bookingRepository.findLastAndNextApprovedBookings(itemIds, now)
+                                                                      .stream()
+                                                                      .map(ItemBookingView::id)
+                                                                      .collect(toSet()));
+    }
+
+    private long measure(final Supplier<Set<Long>> query) {
+        query.get();
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            query.get();
+        }
+
+        return System.nanoTime() - start;
+    }
+
+    private List<Long> seed(final int bookingsPerItem) {
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('owner', 'owner@benchmark.net')");
+        Long ownerId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Long.class);
+
+        Random random = new Random(bookingsPerItem);
+        LocalDateTime origin = LocalDateTime.now().minusYears(5);
+        List<Long> itemIds = new ArrayList<>(ITEMS_COUNT);
+        List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+
+        for (int i = 0; i < ITEMS_COUNT; i++) {
+            jdbcTemplate.update(
+                    "INSERT INTO items (name, description, is_available, owner_id) VALUES ('item', 'item', true, ?)",
+                    ownerId
+            );
+            Long itemId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM items", Long.class);
+            itemIds.add(itemId);
+
+            for (int j = 0; j < bookingsPerItem; j++) {
+                LocalDateTime start = origin.plusHours(random.nextInt(6 * 365 * 24));
+
+                rows.add(new Object[]{
+                        Timestamp.valueOf(start),
+                        Timestamp.valueOf(start.plusHours(2)),
+                        itemId,
+                        ownerId,
+                        STATUSES[random.nextInt(STATUSES.length)].name()
+                });
+
+                if (rows.size() == INSERT_BATCH) {
+                    insert(rows);
+                }
+            }
+        }
+
+        insert(rows);
+
+        return itemIds;
+    }
+
+    private void insert(final List<Object[]> rows) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) VALUES (?, ?, ?, ?, ?)",
+                rows
+        );
+        rows.clear();
+    }
+
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,12 +9,18 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.exception.InvalidPaginationException;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemInfoDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
@@ -21,10 +28,14 @@ import java.util.List;
 import java.util.Random;
 
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemController.class)
@@ -110,8 +121,8 @@ class ItemControllerTests {
     void getItemsByOwner()  throws Exception {
         ItemInfoDto itemInfoDto = makeItemInfoDto();
 
-        when(itemService.findItemsByOwner(Mockito.anyLong()))
-                .thenReturn(List.of(itemInfoDto));
+        when(itemService.findItemsByOwner(Mockito.anyLong(), Mockito.isNull(), Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(new CursorPage<>(List.of(itemInfoDto), null));
 
         mockMvc.perform(
                        get("/items")
@@ -126,13 +137,57 @@ class ItemControllerTests {
                .andExpect(jsonPath("$[0].available").value(itemInfoDto.getAvailable()));
     }
 
+    @Test
+    void streamItemsByOwner() throws Exception {
+        ItemInfoDto first = makeItemInfoDto();
+        ItemInfoDto second = makeItemInfoDto();
+
+        when(itemService.findItemsByOwner(1L, null, 0, OffsetPageRequest.MAX_SIZE))
+                .thenReturn(new CursorPage<>(List.of(first), "next"));
+        when(itemService.findItemsByOwner(1L, "next", null, OffsetPageRequest.MAX_SIZE))
+                .thenReturn(new CursorPage<>(List.of(second), null));
+
+        MvcResult result = mockMvc.perform(
+                                          get("/items")
+                                                  .header("X-Sharer-User-Id", "1")
+                                                  .accept(MediaType.APPLICATION_NDJSON)
+                                  )
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+
+        String[] lines = mockMvc.perform(asyncDispatch(result))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                                .andReturn()
+                                .getResponse()
+                                .getContentAsString(StandardCharsets.UTF_8)
+                                .split("\n");
+
+        Assertions.assertEquals(2, lines.length);
+        Assertions.assertEquals(first.getId(), mapper.readValue(lines[0], ItemInfoDto.class).getId());
+        Assertions.assertEquals(second.getId(), mapper.readValue(lines[1], ItemInfoDto.class).getId());
+    }
+
+    @Test
+    void streamItemsByUnknownOwner() throws Exception {
+        when(itemService.findItemsByOwner(1L, null, 0, OffsetPageRequest.MAX_SIZE))
+                .thenThrow(new NotFoundException("User with id='1' not found"));
+
+        mockMvc.perform(
+                       get("/items")
+                               .header("X-Sharer-User-Id", "1")
+                               .accept(MediaType.APPLICATION_NDJSON)
+               )
+               .andExpect(status().isNotFound());
+    }
+
     @Test
     void search() throws Exception {
         ItemDto itemDto = makeItemDto();
         String text = "search text";
 
-        when(itemService.findItemsByText(text))
-                .thenReturn(List.of(itemDto));
+        when(itemService.findItemsByText(text, null, 0, 20))
+                .thenReturn(new CursorPage<>(List.of(itemDto), "next"));
 
         mockMvc.perform(
                        get("/items/search")
@@ -145,7 +200,62 @@ class ItemControllerTests {
                .andExpect(status().isOk())
                .andExpect(jsonPath("$[0].name").value(itemDto.getName()))
                .andExpect(jsonPath("$[0].description").value(itemDto.getDescription()))
-               .andExpect(jsonPath("$[0].available").value(itemDto.getAvailable()));
+               .andExpect(jsonPath("$[0].available").value(itemDto.getAvailable()))
+               .andExpect(header().string(CursorPage.HEADER_NEXT_CURSOR, "next"));
+    }
+
+    @Test
+    void suggest() throws Exception {
+        when(itemService.suggestItemNames("dri", 10))
+                .thenReturn(List.of("Drill", "Drill press"));
+
+        mockMvc.perform(
+                       get("/items/suggest")
+                               .param("prefix", "dri")
+                               .accept(MediaType.APPLICATION_JSON)
+               )
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[0]").value("Drill"))
+               .andExpect(jsonPath("$[1]").value("Drill press"));
+    }
+
+    @Test
+    void availability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(1);
+
+        when(itemService.getAvailability(1L, from, to))
+                .thenReturn(new ItemAvailabilityDto(1L, from, to, List.of(
+                        new ItemAvailabilityDto.SlotDto(from, from.plusHours(3), true),
+                        new ItemAvailabilityDto.SlotDto(from.plusHours(3), to, false)
+                )));
+
+        mockMvc.perform(
+                       get("/items/1/availability")
+                               .param("from", "2030-01-01T00:00:00")
+                               .param("to", "2030-01-02T00:00:00")
+                               .accept(MediaType.APPLICATION_JSON)
+               )
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.itemId").value(1))
+               .andExpect(jsonPath("$.slots[0].available").value(true))
+               .andExpect(jsonPath("$.slots[1].start").value("2030-01-01T03:00:00"))
+               .andExpect(jsonPath("$.slots[1].available").value(false));
+    }
+
+    @Test
+    void searchWithInvalidPagination() throws Exception {
+        when(itemService.findItemsByText("text", null, -1, 20))
+                .thenThrow(new InvalidPaginationException("Parameter 'from' must not be negative"));
+
+        mockMvc.perform(
+                       get("/items/search")
+                               .header("X-Sharer-User-Id", "1")
+                               .param("text", "text")
+                               .param("from", "-1")
+                               .accept(MediaType.APPLICATION_JSON)
+               )
+               .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.exception.InvalidPaginationException;
+import ru.practicum.shareit.item.contracts.ItemRepositoryInterface;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemNameSuggester;
+import ru.practicum.shareit.user.contracts.UserRepositoryInterface;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.Random;
+
+@SpringBootTest(properties = "shareit.item-search.index.batch-size=2")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ItemNameSuggesterTests {
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ItemNameSuggester itemNameSuggester;
+
+    @Autowired
+    ItemRepositoryInterface itemRepository;
+
+    @Autowired
+    UserRepositoryInterface userRepository;
+
+    @Test
+    void suggestReturnsDistinctNamesInOrder() {
+        User owner = createUser();
+        itemService.create(makeItemCreateDto("Drill", true), owner.getId());
+        itemService.create(makeItemCreateDto("drill", true), owner.getId());
+        itemService.create(makeItemCreateDto("Drill press", true), owner.getId());
+        itemService.create(makeItemCreateDto("Dryer", true), owner.getId());
+        itemService.create(makeItemCreateDto("Hammer drill", true), owner.getId());
+
+        Assertions.assertEquals(List.of("Drill", "Drill press"), itemService.suggestItemNames(" DRI", 10));
+        Assertions.assertEquals(List.of("Drill"), itemService.suggestItemNames("dr", 1));
+        Assertions.assertTrue(itemService.suggestItemNames(" ", 10).isEmpty());
+    }
+
+    @Test
+    void suggestFollowsUpdates() {
+        User owner = createUser();
+        ItemDto first = itemService.create(makeItemCreateDto("Ladder", true), owner.getId());
+        ItemDto second = itemService.create(makeItemCreateDto("Ladder", false), owner.getId());
+
+        Assertions.assertEquals(List.of("Ladder"), itemService.suggestItemNames("lad", 10));
+
+        itemService.update(new ItemUpdateDto(first.getId(), "Stool", null, null), owner.getId());
+
+        Assertions.assertTrue(itemService.suggestItemNames("lad", 10).isEmpty());
+        Assertions.assertEquals(List.of("Stool"), itemService.suggestItemNames("st", 10));
+
+        itemService.update(new ItemUpdateDto(second.getId(), null, null, true), owner.getId());
+
+        Assertions.assertEquals(List.of("Ladder"), itemService.suggestItemNames("lad", 10));
+    }
+
+    @Test
+    void rebuildLoadsItemsFromDatabase() {
+        User owner = createUser();
+
+        for (int i = 0; i < 5; i++) {
+            itemRepository.save(new Item(null, "Saw #" + i, "Hand saw", true, owner, null));
+        }
+
+        Assertions.assertTrue(itemService.suggestItemNames("saw", 10).isEmpty());
+
+        itemNameSuggester.rebuild();
+
+        Assertions.assertEquals(5, itemService.suggestItemNames("saw", 10).size());
+    }
+
+    @Test
+    void suggestWithInvalidSize() {
+        Assertions.assertThrows(InvalidPaginationException.class, () -> itemService.suggestItemNames("saw", 0));
+    }
+
+    private User createUser() {
+        Random random = new Random();
+
+        return userRepository.save(new User(
+                null,
+                "user name #" + random.nextInt(),
+                "user" + random.nextInt() + "@yandex.net"
+        ));
+    }
+
+    private ItemCreateDto makeItemCreateDto(String name, boolean available) {
+        return new ItemCreateDto(name, "Description", available, null);
+    }
+
+}
@@ -5,6 +5,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.item.contracts.ItemRepositoryInterface;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -18,6 +20,8 @@ import java.util.Random;
 @DataJpaTest()
 class ItemRepositoryTests {
 
+    private static final Pageable PAGE = PageRequest.of(0, 10);
+
     @Autowired
     ItemRepositoryInterface repository;
 
@@ -25,7 +29,7 @@ class ItemRepositoryTests {
     TestEntityManager em;
 
     @Test
-    void findAllByOwnerId() {
+    void findAllByOwnerIdAndIdGreaterThanOrderByIdAsc() {
         int rowsCount = 0;
         int userCount = 2;
 
@@ -55,14 +59,16 @@ class ItemRepositoryTests {
 
         Assertions.assertEquals(
                 rowsCount,
-                repository.findAllByOwnerId(
-                        userList.getLast().getId()
+                repository.findAllByOwnerIdAndIdGreaterThanOrderByIdAsc(
+                        userList.getLast().getId(),
+                        0L,
+                        PAGE
                 ).size()
         );
     }
 
     @Test
-    void findAllByText() {
+    void findPageByPattern() {
 
         User user = new User(null, "username", "user");
         em.persist(user);
@@ -79,9 +85,50 @@ class ItemRepositoryTests {
 
         em.flush();
 
-        Assertions.assertEquals(1, repository.findAllByText("description").size());
-        Assertions.assertEquals(1, repository.findAllByText("name").size());
-        Assertions.assertEquals(0, repository.findAllByText("some text").size());
+        Assertions.assertEquals(1, repository.findPageByPattern("%description%", -1, 0, PAGE).size());
+        Assertions.assertEquals(1, repository.findPageByPattern("%name%", -1, 0, PAGE).size());
+        Assertions.assertEquals(0, repository.findPageByPattern("%some text%", -1, 0, PAGE).size());
+    }
+
+    @Test
+    void findPageByPatternMatchesWildcardsLiterally() {
+
+        User user = new User(null, "username", "user");
+        em.persist(user);
+
+        em.persist(new Item(null, "Name", "Description 100%", true, user, null));
+        em.persist(new Item(null, "Other name", "Description", false, user, null));
+
+        em.flush();
+
+        Assertions.assertEquals(1, repository.findPageByPattern("%descr%", -1, 0, PAGE).size());
+        Assertions.assertEquals(1, repository.findPageByPattern("%name%", -1, 0, PAGE).size());
+        Assertions.assertEquals(1, repository.findPageByPattern("%100\\%%", -1, 0, PAGE).size());
+        Assertions.assertEquals(0, repository.findPageByPattern("%n\\_me%", -1, 0, PAGE).size());
+    }
+
+    @Test
+    void findPageByPatternRanksNameMatchesFirst() {
+
+        User user = new User(null, "username", "user");
+        em.persist(user);
+
+        Item descriptionHit = new Item(null, "Hammer", "Works like a drill", true, user, null);
+        Item firstNameHit = new Item(null, "Drill", "Cordless", true, user, null);
+        Item secondNameHit = new Item(null, "Hammer drill", "Heavy", true, user, null);
+        em.persist(descriptionHit);
+        em.persist(firstNameHit);
+        em.persist(secondNameHit);
+
+        em.flush();
+
+        List<Item> firstPage = repository.findPageByPattern("%drill%", -1, 0, PageRequest.of(0, 2));
+
+        Assertions.assertEquals(List.of(firstNameHit, secondNameHit), firstPage);
+        Assertions.assertEquals(
+                List.of(descriptionHit),
+                repository.findPageByPattern("%drill%", 0, secondNameHit.getId(), PageRequest.of(0, 2))
+        );
     }
 
     @Test
@@ -0,0 +1,150 @@
+package ru.practicum.shareit.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.contracts.ItemRepositoryInterface;
+import ru.practicum.shareit.item.search.InvertedIndexItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemNameSuggester;
+import ru.practicum.shareit.item.search.ItemSearchCursor;
+import ru.practicum.shareit.item.search.ItemSearchHit;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+@Slf4j
+@SpringBootTest(properties = "shareit.item-search.engine=inverted-index")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+class ItemSearchBenchmarkTests {
+
+    private static final String[] WORDS = {
+        "drill", "hammer", "saw", "ladder", "tent", "bike", "kayak", "camera", "lens", "tripod",
+        "projector", "speaker", "grill", "mixer", "vacuum", "heater", "scooter", "helmet", "board", "table"
+    };
+    private static final int INSERT_BATCH = 10_000;
+    private static final int ITERATIONS = 20;
+    private static final int SUGGEST_ITERATIONS = 100_000;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ItemRepositoryInterface itemRepository;
+
+    @Autowired
+    InvertedIndexItemSearchEngine engine;
+
+    @Autowired
+    ItemNameSuggester suggester;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 100_000, 1_000_000})
+    void compareLikeQueryWithInvertedIndex(int itemsCount) {
+        seed(itemsCount);
+        engine.rebuild();
+
+        String text = "cordless";
+
+        Pageable page = OffsetPageRequest.from(0, OffsetPageRequest.MAX_SIZE);
+        ItemSearchCursor after = ItemSearchCursor.FIRST;
+
+        long likeNanos = measure(() -> itemRepository.findPageByPattern(ItemSearchHit.toPattern(text), after.rank(), after.id(), page).size());
+        long indexNanos = measure(() -> engine.search(text, after, page).size());
+
+        log.info(
+                "Item search over {} items: LIKE {} us/op, inverted index {} us/op",
+                itemsCount,
+                likeNanos / ITERATIONS / 1_000,
+                indexNanos / ITERATIONS / 1_000
+        );
+
+        Assertions.assertEquals(
+                itemRepository.findPageByPattern(ItemSearchHit.toPattern(text), after.rank(), after.id(), page).size(),
+                engine.search(text, after, page).size()
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000_000})
+    void suggestLatency(int itemsCount) {
+        seed(itemsCount);
+        suggester.rebuild();
+
+        Random random = new Random(itemsCount);
+        long[] latencies = new long[SUGGEST_ITERATIONS];
+
+        for (int i = 0; i < SUGGEST_ITERATIONS; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            String prefix = word.substring(0, 1 + random.nextInt(word.length()));
+
+            long start = System.nanoTime();
+            suggester.suggest(prefix, 10);
+            latencies[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(latencies);
+
+        log.info(
+                "Item name suggestions over {} items: p50 {} us, p99 {} us",
+                itemsCount,
+                latencies[SUGGEST_ITERATIONS / 2] / 1_000,
+                latencies[SUGGEST_ITERATIONS * 99 / 100] / 1_000
+        );
+
+        Assertions.assertTrue(latencies[SUGGEST_ITERATIONS * 99 / 100] < 1_000_000);
+    }
+
+    private long measure(final Runnable query) {
+        query.run();
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            query.run();
+        }
+
+        return System.nanoTime() - start;
+    }
+
+    private void seed(final int itemsCount) {
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('owner', 'owner@benchmark.net')");
+        Long ownerId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Long.class);
+
+        Random random = new Random(itemsCount);
+        List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+
+        for (int i = 0; i < itemsCount; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+            String description = (random.nextInt(100) == 0 ? "cordless " : "")
+                    + WORDS[random.nextInt(WORDS.length)] + " for rent #" + i;
+
+            rows.add(new Object[]{name, description, random.nextBoolean(), ownerId});
+
+            if (rows.size() == INSERT_BATCH) {
+                insert(rows);
+            }
+        }
+
+        insert(rows);
+    }
+
+    private void insert(final List<Object[]> rows) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO items (name, description, is_available, owner_id) VALUES (?, ?, ?, ?)",
+                rows
+        );
+        rows.clear();
+    }
+
+}
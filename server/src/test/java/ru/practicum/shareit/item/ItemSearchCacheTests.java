@@ -0,0 +1,157 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.contracts.ItemRepositoryInterface;
+import ru.practicum.shareit.item.contracts.ItemSearchEngineInterface;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchCursor;
+import ru.practicum.shareit.item.search.ItemSearchHit;
+import ru.practicum.shareit.user.contracts.UserRepositoryInterface;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ItemSearchCacheTests {
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ItemSearchCache itemSearchCache;
+
+    @Autowired
+    UserRepositoryInterface userRepository;
+
+    @Test
+    void repeatedSearchIsServedFromCache() {
+        User owner = createUser();
+        itemService.create(new ItemCreateDto("Drill", "Cordless", true, null), owner.getId());
+
+        Assertions.assertEquals(1, search("drill").size());
+        Assertions.assertEquals(1, search("DRILL").size());
+        Assertions.assertEquals(1, itemSearchCache.stats().hitCount());
+        Assertions.assertEquals(1, itemSearchCache.stats().missCount());
+    }
+
+    @Test
+    void updateInvalidatesWhenAvailabilityChanges() {
+        User owner = createUser();
+        ItemDto item = itemService.create(new ItemCreateDto("Ladder", "Tall", true, null), owner.getId());
+
+        Assertions.assertEquals(1, search("ladder").size());
+
+        itemService.update(new ItemUpdateDto(item.getId(), null, null, false), owner.getId());
+
+        Assertions.assertTrue(search("ladder").isEmpty());
+
+        itemService.update(new ItemUpdateDto(item.getId(), null, null, true), owner.getId());
+
+        Assertions.assertEquals(1, search("ladder").size());
+        Assertions.assertEquals(0, itemSearchCache.stats().hitCount());
+    }
+
+    @Test
+    void updateInvalidatesOldAndNewQueries() {
+        User owner = createUser();
+        ItemDto item = itemService.create(new ItemCreateDto("Ladder", "Tall", true, null), owner.getId());
+
+        Assertions.assertEquals(1, search("ladder").size());
+        Assertions.assertTrue(search("stool").isEmpty());
+
+        itemService.update(new ItemUpdateDto(item.getId(), "Stool", "Short", null), owner.getId());
+
+        Assertions.assertTrue(search("ladder").isEmpty());
+        Assertions.assertEquals(1, search("stool").size());
+    }
+
+    @Test
+    void createInvalidatesOnlyMatchingQueries() {
+        User owner = createUser();
+        itemService.create(new ItemCreateDto("Tent", "Camping", true, null), owner.getId());
+
+        Assertions.assertEquals(1, search("tent").size());
+        Assertions.assertTrue(search("kayak").isEmpty());
+
+        itemService.create(new ItemCreateDto("Kayak", "Camping", true, null), owner.getId());
+
+        Assertions.assertEquals(1, search("tent").size());
+        Assertions.assertEquals(1, search("kayak").size());
+        Assertions.assertEquals(1, itemSearchCache.stats().hitCount());
+    }
+
+    @Test
+    void wildcardQueryFollowsEngineSemantics() {
+        User owner = createUser();
+
+        Assertions.assertTrue(search("a_c").isEmpty());
+
+        itemService.create(new ItemCreateDto("abc", "Matches only as a pattern", true, null), owner.getId());
+
+        Assertions.assertTrue(search("a_c").isEmpty());
+        Assertions.assertEquals(1, itemSearchCache.stats().hitCount());
+
+        itemService.create(new ItemCreateDto("a_c", "Literal match", true, null), owner.getId());
+
+        Assertions.assertEquals(1, search("a_c").size());
+    }
+
+    @Test
+    void searchRacingAnInvalidationIsNotCached() {
+        Item item = new Item(1L, "Drill", "Cordless", true, null, null);
+        ItemSearchEngineInterface engine = Mockito.mock(ItemSearchEngineInterface.class);
+        ItemSearchCache cache = new ItemSearchCache(
+                engine,
+                Mockito.mock(ItemRepositoryInterface.class),
+                new SimpleMeterRegistry(),
+                100,
+                Duration.ofMinutes(1)
+        );
+
+        Mockito.when(engine.cacheTerm("drill")).thenReturn("dri");
+        Mockito.when(engine.cacheTerms(item)).thenReturn(Set.of("dri"));
+        Mockito.when(engine.matches(item, "drill")).thenReturn(true);
+        // The item is written and invalidated while the first search is still reading
+        Mockito.when(engine.search(Mockito.eq("drill"), Mockito.any(), Mockito.any()))
+               .thenAnswer(invocation -> {
+                   cache.invalidate(item);
+
+                   return List.of();
+               })
+               .thenReturn(List.of(new ItemSearchHit(item, ItemSearchHit.RANK_NAME)));
+
+        Assertions.assertTrue(cache.search("drill", ItemSearchCursor.FIRST, PageRequest.of(0, 20)).isEmpty());
+        Assertions.assertEquals(1, cache.search("drill", ItemSearchCursor.FIRST, PageRequest.of(0, 20)).size());
+        Assertions.assertEquals(0, cache.stats().hitCount());
+    }
+
+    private List<ItemDto> search(String text) {
+        return itemService.findItemsByText(text, null, 0, 20).content();
+    }
+
+    private User createUser() {
+        Random random = new Random();
+
+        return userRepository.save(new User(
+                null,
+                "user name #" + random.nextInt(),
+                "user" + random.nextInt() + "@yandex.net"
+        ));
+    }
+
+}
@@ -11,8 +11,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.booking.contracts.BookingRepositoryInterface;
-import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.ItemBookingView;
 import ru.practicum.shareit.exception.EmptyIdException;
 import ru.practicum.shareit.exception.InvalidOwnerException;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -26,12 +25,14 @@ import ru.practicum.shareit.item.dto.ItemInfoDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.contracts.ItemRequestRepositoryInterface;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.contracts.UserRepositoryInterface;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
@@ -285,27 +286,22 @@ class ItemServiceTest {
                 null
         );
 
-        Mockito.when(bookingRepository.findAllByItem_IdInAndStatus(
-                Mockito.anyList(),
-                Mockito.any(),
+        Mockito.when(bookingRepository.findLastAndNextApprovedBookings(
+                Mockito.anyCollection(),
                 Mockito.any()
         )).thenReturn(
                 List.of(
-                        new Booking(
+                        new ItemBookingView(
+                                item.getId(),
                                 random.nextLong(),
-                                item,
-                                user,
                                 LocalDateTime.now().minusDays(4),
-                                LocalDateTime.now().minusDays(3),
-                                BookingStatus.APPROVED
+                                LocalDateTime.now().minusDays(3)
                         ),
-                        new Booking(
+                        new ItemBookingView(
+                                item.getId(),
                                 random.nextLong(),
-                                item,
-                                user,
                                 LocalDateTime.now().plusDays(1),
-                                LocalDateTime.now().plusDays(2),
-                                BookingStatus.APPROVED
+                                LocalDateTime.now().plusDays(2)
                         )
                 )
         );
@@ -318,16 +314,40 @@ class ItemServiceTest {
                 LocalDateTime.now()
         ));
 
-        List<ItemInfoDto> items = itemService.findItemsByOwner(owner.getId());
+        List<ItemInfoDto> items = itemService.findItemsByOwner(owner.getId(), null, 0, 20).content();
 
         Assertions.assertEquals(ownerItemsCount, items.size());
     }
 
+    @Test
+    void findItemsByOwnerPagesByCursor() {
+        User owner = createUser();
+        List<Long> itemIds = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            itemIds.add(itemService.create(makeItemCreateDto(), owner.getId()).getId());
+        }
+
+        CursorPage<ItemInfoDto> firstPage = itemService.findItemsByOwner(owner.getId(), null, 0, 2);
+        CursorPage<ItemInfoDto> secondPage = itemService.findItemsByOwner(owner.getId(), firstPage.nextCursor(), null, 2);
+        CursorPage<ItemInfoDto> lastPage = itemService.findItemsByOwner(owner.getId(), secondPage.nextCursor(), null, 2);
+
+        Assertions.assertEquals(itemIds.subList(0, 2), firstPage.content().stream().map(ItemInfoDto::getId).toList());
+        Assertions.assertEquals(itemIds.subList(2, 4), secondPage.content().stream().map(ItemInfoDto::getId).toList());
+        Assertions.assertEquals(itemIds.subList(4, 5), lastPage.content().stream().map(ItemInfoDto::getId).toList());
+        Assertions.assertNull(lastPage.nextCursor());
+        Assertions.assertEquals(
+                itemIds.subList(3, 5),
+                itemService.findItemsByOwner(owner.getId(), null, 3, 20).content().stream().map(ItemInfoDto::getId).toList()
+        );
+        Assertions.assertTrue(itemService.findItemsByOwner(owner.getId(), null, 5, 20).content().isEmpty());
+    }
+
     @Test
     void findItemsByOwnerWithWrongIdReturnThrow() {
         Assertions.assertThrowsExactly(
                 NotFoundException.class,
-                () -> itemService.findItemsByOwner(new Random().nextLong())
+                () -> itemService.findItemsByOwner(new Random().nextLong(), null, 0, 20)
         );
     }
 
@@ -341,13 +361,41 @@ class ItemServiceTest {
 
         itemService.create(itemCreateDto, owner.getId());
 
-        List<ItemDto> res = itemService.findItemsByText(searchText);
+        List<ItemDto> res = itemService.findItemsByText(searchText, null, 0, 10).content();
 
         Assertions.assertFalse(res.isEmpty());
         Assertions.assertEquals(searchText, res.getFirst().getDescription());
 
     }
 
+    @Test
+    void findItemsByTextPagesThroughWildcardCharacters() {
+        User owner = createUser();
+        List<Long> expected = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            expected.add(itemService.create(new ItemCreateDto("Key a_c " + i, "Name hit", true, null), owner.getId()).getId());
+        }
+
+        for (int i = 0; i < 3; i++) {
+            // "abc" would match a_c as a LIKE pattern, but the text is searched for literally
+            expected.add(itemService.create(new ItemCreateDto("abc " + i, "Holds a_c", true, null), owner.getId()).getId());
+        }
+
+        itemService.create(new ItemCreateDto("abc", "Not a hit", true, null), owner.getId());
+
+        List<Long> actual = new ArrayList<>();
+        String cursor = null;
+
+        do {
+            CursorPage<ItemDto> page = itemService.findItemsByText("A_C", cursor, 0, 2);
+            actual.addAll(page.content().stream().map(ItemDto::getId).toList());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        Assertions.assertEquals(expected, actual);
+    }
+
     @Test
     void findItemsByTextWithEmptyString() {
 
@@ -356,7 +404,7 @@ class ItemServiceTest {
 
         itemService.create(itemCreateDto, owner.getId());
 
-        List<ItemDto> res = itemService.findItemsByText("");
+        List<ItemDto> res = itemService.findItemsByText("", null, 0, 10).content();
 
         Assertions.assertTrue(res.isEmpty());
     }
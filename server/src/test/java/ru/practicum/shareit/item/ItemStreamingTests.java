@@ -0,0 +1,117 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.dto.ItemInfoDto;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.when;
+
+@Timeout(30)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ItemStreamingTests {
+
+    private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+    private static final long WAIT_SECONDS = 5;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    ObjectMapper mapper;
+
+    @MockBean
+    ItemService itemService;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void streamedPageReachesClientBeforeNextPageIsRead() throws Exception {
+        ItemInfoDto first = new ItemInfoDto(1L, "Drill", "Cordless drill", true);
+        ItemInfoDto second = new ItemInfoDto(2L, "Saw", "Hand saw", true);
+        CountDownLatch secondPageRead = new CountDownLatch(1);
+
+        when(itemService.findItemsByOwner(1L, null, 0, OffsetPageRequest.MAX_SIZE))
+                .thenReturn(new CursorPage<>(List.of(first), "next"));
+        when(itemService.findItemsByOwner(1L, "next", null, OffsetPageRequest.MAX_SIZE))
+                .thenAnswer(invocation -> {
+                    secondPageRead.await();
+
+                    return new CursorPage<>(List.of(second), null);
+                });
+
+        // The second page is held back, so the first line can only arrive if it was flushed on its own
+        HttpResponse<Stream<String>> response = httpClient
+                .sendAsync(
+                        HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/items"))
+                                   .header(HEADER_USER_ID, "1")
+                                   .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_NDJSON_VALUE)
+                                   .build(),
+                        HttpResponse.BodyHandlers.ofLines()
+                )
+                .get(WAIT_SECONDS, TimeUnit.SECONDS);
+        Iterator<String> lines = response.body().iterator();
+
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertTrue(response.headers().firstValue(HttpHeaders.ETAG).isEmpty());
+        Assertions.assertEquals(
+                first.getId(),
+                mapper.readValue(
+                        CompletableFuture.supplyAsync(lines::next).get(WAIT_SECONDS, TimeUnit.SECONDS),
+                        ItemInfoDto.class
+                ).getId()
+        );
+
+        secondPageRead.countDown();
+
+        Assertions.assertEquals(second.getId(), mapper.readValue(lines.next(), ItemInfoDto.class).getId());
+        Assertions.assertFalse(lines.hasNext());
+    }
+
+    @Test
+    void onlyCachedReadsCarryEtag() throws Exception {
+        when(itemService.findItemById(1L, 1L))
+                .thenReturn(new ItemInfoDto(1L, "Drill", "Cordless drill", true));
+        when(itemService.suggestItemNames("dr", 10))
+                .thenReturn(List.of("Drill"));
+
+        Assertions.assertTrue(get("/items/1").headers().firstValue(HttpHeaders.ETAG).isPresent());
+        Assertions.assertTrue(get("/items/suggest?prefix=dr").headers().firstValue(HttpHeaders.ETAG).isEmpty());
+    }
+
+    private HttpResponse<String> get(final String path) throws Exception {
+        HttpResponse<String> response = httpClient.send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                           .header(HEADER_USER_ID, "1")
+                           .build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+
+        Assertions.assertEquals(200, response.statusCode());
+
+        return response;
+    }
+
+}
@@ -6,6 +6,7 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.user.dto.UserCreateDto;
@@ -20,6 +21,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -98,6 +101,27 @@ class UserControllerTests {
                .andExpect(jsonPath("$.email").value(userDto.getEmail()));
     }
 
+    @Test
+    void getUserRevalidatesByEtag() throws Exception {
+        when(userService.findById(Mockito.anyLong()))
+                .thenReturn(makeUser());
+
+        String etag = mockMvc.perform(get("/users/{id}", 1L).accept(MediaType.APPLICATION_JSON))
+                             .andExpect(status().isOk())
+                             .andExpect(header().exists(HttpHeaders.ETAG))
+                             .andReturn()
+                             .getResponse()
+                             .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(
+                       get("/users/{id}", 1L)
+                               .accept(MediaType.APPLICATION_JSON)
+                               .header(HttpHeaders.IF_NONE_MATCH, etag)
+               )
+               .andExpect(status().isNotModified())
+               .andExpect(content().string(""));
+    }
+
     @Test
     void deleteUser() throws Exception {
         Mockito.doNothing().when(userService).deleteById(Mockito.anyLong());